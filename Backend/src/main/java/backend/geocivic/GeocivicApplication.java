@@ -2,8 +2,10 @@ package backend.geocivic;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class GeocivicApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,22 @@
+package backend.geocivic.controller;
+
+import backend.geocivic.dto.AnalyticsSummary;
+import backend.geocivic.service.ReportAnalytics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
+public class AnalyticsController {
+
+    @Autowired
+    private ReportAnalytics reportAnalytics;
+
+    // Status counts, category breakdown, monthly trend, top locations and staff
+    // performance — served from in-memory counters, no table scan.
+    @GetMapping
+    public AnalyticsSummary getSummary(@RequestParam(value = "months", defaultValue = "6") int months) {
+        return reportAnalytics.snapshot(Math.min(months, 24));
+    }
+}
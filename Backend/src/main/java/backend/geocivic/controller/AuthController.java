@@ -1,6 +1,7 @@
 package backend.geocivic.controller;
 
 import backend.geocivic.model.User;
+import backend.geocivic.service.Leaderboard;
 import backend.geocivic.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,10 +17,14 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private Leaderboard leaderboard;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody User user) {
         try {
             User registeredUser = userService.registerUser(user);
+            leaderboard.userUpdated(registeredUser);
             return ResponseEntity.ok(registeredUser);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: Email might already be in use.");
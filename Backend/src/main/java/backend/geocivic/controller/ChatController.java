@@ -2,11 +2,17 @@ package backend.geocivic.controller;
 
 import backend.geocivic.dto.ChatRequest;
 import backend.geocivic.dto.ChatResponse;
+import backend.geocivic.service.ChatRuleEngine;
 import backend.geocivic.service.ChatService;
+import backend.geocivic.service.ChatStreamService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
 
 /**
  * ChatController — exposes the single chatbot endpoint.
@@ -15,6 +21,12 @@ import org.springframework.web.bind.annotation.*;
  * Request : { "message": "...", "userId": 5 }
  * Response : { "reply": "..." }
  *
+ * POST /api/chat/stream takes the same body and answers with Server-Sent
+ * Events: "token" events carrying the reply as it is generated, then "done".
+ *
+ * POST /api/chat/rules/reload re-reads the rule-based reply table.
+ * POST /api/chat/cache/clear drops all cached AI replies.
+ *
  * Authentication is intentionally kept simple for now.
  * When JWT is added, extract userId from the token here instead
  * of trusting the request body.
@@ -26,9 +38,14 @@ public class ChatController {
     private static final Logger log = LoggerFactory.getLogger(ChatController.class);
 
     private final ChatService chatService;
+    private final ChatStreamService chatStreamService;
+    private final ChatRuleEngine chatRuleEngine;
 
-    public ChatController(ChatService chatService) {
+    public ChatController(ChatService chatService, ChatStreamService chatStreamService,
+            ChatRuleEngine chatRuleEngine) {
         this.chatService = chatService;
+        this.chatStreamService = chatStreamService;
+        this.chatRuleEngine = chatRuleEngine;
     }
 
     /**
@@ -58,4 +75,40 @@ public class ChatController {
 
         return ResponseEntity.ok(new ChatResponse(reply));
     }
+
+    /**
+     * Same as {@link #chat}, but the reply is streamed as it is generated.
+     * Read it with fetch() and a stream reader (EventSource cannot POST).
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<?> chatStream(@RequestBody ChatRequest request) {
+        if (request.getMessage() == null || request.getMessage().isBlank()) {
+            log.warn("ChatController: empty message received");
+            return ResponseEntity.badRequest()
+                    .body(new ChatResponse("Please type a message before sending."));
+        }
+        log.info("ChatController: userId={} opened a reply stream", request.getUserId());
+        SseEmitter emitter = chatStreamService.stream(request);
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+
+    /**
+     * Re-reads the rule table from {@code chat.rules.location}. A table that
+     * fails to load is rejected and the current rules stay in use.
+     */
+    @PostMapping("/rules/reload")
+    public ResponseEntity<?> reloadRules() {
+        try {
+            return ResponseEntity.ok(Map.of("rules", chatRuleEngine.reload()));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("ChatController: rule table reload failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", "Could not load rules: " + e.getMessage()));
+        }
+    }
+
+    /** Drops all cached AI replies, e.g. after changing the AI model or prompt. */
+    @PostMapping("/cache/clear")
+    public Map<String, Integer> clearReplyCache() {
+        return Map.of("cleared", chatService.invalidateReplies());
+    }
 }
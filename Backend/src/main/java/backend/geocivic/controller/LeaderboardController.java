@@ -0,0 +1,53 @@
+package backend.geocivic.controller;
+
+import backend.geocivic.service.Leaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
+public class LeaderboardController {
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    // Top citizens, served from the in-memory ranking
+    // e.g. /api/leaderboard?metric=coins&limit=10 (city-wide)
+    // or /api/leaderboard?metric=resolved&area=Anna%20Nagar
+    @GetMapping
+    public ResponseEntity<?> getTop(
+            @RequestParam(value = "metric", required = false) String metric,
+            @RequestParam(value = "area", required = false) String area,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(leaderboard.top(Leaderboard.Metric.fromParam(metric), area, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // "Your rank": { "city": {...}, "area": {...} } (area only when the profile has one)
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<?> getUserRank(@PathVariable Long userId,
+            @RequestParam(value = "metric", required = false) String metric) {
+        Leaderboard.Metric parsed;
+        try {
+            parsed = Leaderboard.Metric.fromParam(metric);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return leaderboard.rankOf(parsed, userId, false)
+                .<ResponseEntity<?>>map(city -> {
+                    Map<String, Object> ranks = new LinkedHashMap<>();
+                    ranks.put("city", city);
+                    leaderboard.rankOf(parsed, userId, true).ifPresent(area -> ranks.put("area", area));
+                    return ResponseEntity.ok(ranks);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
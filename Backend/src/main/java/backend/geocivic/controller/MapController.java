@@ -0,0 +1,35 @@
+package backend.geocivic.controller;
+
+import backend.geocivic.dto.MapCluster;
+import backend.geocivic.service.ReportTileIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/map")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
+public class MapController {
+
+    @Autowired
+    private ReportTileIndex reportTileIndex;
+
+    // ── Clusters for the visible map area ─────────────────────────────────────
+    // e.g. /api/map/clusters?minLat=12.9&minLng=80.1&maxLat=13.2&maxLng=80.3&zoom=12
+    @GetMapping("/clusters")
+    public List<MapCluster> getClusters(
+            @RequestParam("minLat") double minLat,
+            @RequestParam("minLng") double minLng,
+            @RequestParam("maxLat") double maxLat,
+            @RequestParam("maxLng") double maxLng,
+            @RequestParam("zoom") int zoom) {
+        return reportTileIndex.clusters(minLat, minLng, maxLat, maxLng, zoom);
+    }
+
+    // ── Clusters for one slippy-map tile ──────────────────────────────────────
+    @GetMapping("/tiles/{z}/{x}/{y}")
+    public List<MapCluster> getTile(@PathVariable int z, @PathVariable int x, @PathVariable int y) {
+        return reportTileIndex.tile(z, x, y);
+    }
+}
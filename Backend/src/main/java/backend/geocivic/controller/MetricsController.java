@@ -0,0 +1,36 @@
+package backend.geocivic.controller;
+
+import backend.geocivic.service.AiClient;
+import backend.geocivic.service.ChatService;
+import backend.geocivic.service.ReportCache;
+import backend.geocivic.util.BoundedCache;
+import backend.geocivic.util.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
+public class MetricsController {
+
+    @Autowired
+    private ReportCache reportCache;
+    @Autowired
+    private ChatService chatService;
+    @Autowired
+    private AiClient aiClient;
+
+    // Size, hit/miss counts and hit rate of the in-memory caches
+    @GetMapping("/caches")
+    public List<BoundedCache.Stats> getCacheStats() {
+        return List.of(reportCache.stats(), chatService.replyCacheStats());
+    }
+
+    // Circuit breaker state of the AI provider (CLOSED, OPEN or HALF_OPEN)
+    @GetMapping("/ai")
+    public CircuitBreaker.Snapshot getAiHealth() {
+        return aiClient.health();
+    }
+}
@@ -2,11 +2,20 @@ package backend.geocivic.controller;
 
 import backend.geocivic.model.Notification;
 import backend.geocivic.repository.NotificationRepository;
+import backend.geocivic.service.NotificationService;
+import backend.geocivic.service.NotificationStreamService;
+import backend.geocivic.service.ResourceVersions;
+import backend.geocivic.util.HttpCaching;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -16,17 +25,81 @@ public class NotificationController {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
     @GetMapping("/user/{userId}")
-    public List<Notification> getUserNotifications(@PathVariable Long userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public ResponseEntity<List<Notification>> getUserNotifications(@PathVariable Long userId, WebRequest request) {
+        String etag = resourceVersions.notificationsETag(userId);
+        if (request.checkNotModified(etag))
+            return HttpCaching.notModified(etag);
+        return HttpCaching.ok(etag, notificationRepository.findByUserIdOrderByCreatedAtDesc(userId));
+    }
+
+    // ── Paged feed: newest first, then ?cursor=<nextCursor> for older ones ────
+    @GetMapping("/user/{userId}/feed")
+    public ResponseEntity<?> getUserFeed(@PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "" + NotificationService.DEFAULT_FEED_LIMIT) int limit,
+            WebRequest request) {
+        String etag = resourceVersions.notificationsETag(userId);
+        if (request.checkNotModified(etag))
+            return HttpCaching.notModified(etag);
+        try {
+            return HttpCaching.ok(etag, notificationService.feed(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ── Live push: new notifications as Server-Sent Events ────────────────────
+    // new EventSource("/api/notifications/stream?userId=5"); the browser sends
+    // Last-Event-ID on reconnect and missed notifications are replayed.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam("userId") Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam) {
+        Long lastEventId = lastEventIdParam;
+        if (lastEventIdHeader != null && !lastEventIdHeader.isBlank()) {
+            try {
+                lastEventId = Long.parseLong(lastEventIdHeader.trim());
+            } catch (NumberFormatException ignored) {
+                // not one of our ids; start live without replay
+            }
+        }
+        return notificationStreamService.subscribe(userId, lastEventId);
     }
 
     @PutMapping("/{id}/read")
     public ResponseEntity<?> markAsRead(@PathVariable Long id) {
-        return notificationRepository.findById(id).map(notification -> {
-            notification.setIsRead(true);
-            notificationRepository.save(notification);
-            return ResponseEntity.ok().build();
-        }).orElse(ResponseEntity.notFound().build());
+        return notificationService.markRead(id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // ── Unread badge (in-memory counter, no list download) ────────────────────
+    @GetMapping("/user/{userId}/unread-count")
+    public Map<String, Long> getUnreadCount(@PathVariable Long userId) {
+        return Map.of("unread", notificationService.unreadCount(userId));
+    }
+
+    // ── Bulk read-marking: a single UPDATE instead of one request per item ────
+    // Body: { "ids": [1, 2, 3] }
+    @PutMapping("/user/{userId}/read")
+    public Map<String, Integer> markSelectedRead(@PathVariable Long userId,
+            @RequestBody Map<String, Collection<Long>> body) {
+        return Map.of("updated", notificationService.markRead(userId, body.get("ids")));
+    }
+
+    @PutMapping("/user/{userId}/read-all")
+    public Map<String, Integer> markAllRead(@PathVariable Long userId) {
+        return Map.of("updated", notificationService.markAllRead(userId));
     }
 }
@@ -1,19 +1,37 @@
 package backend.geocivic.controller;
 
+import backend.geocivic.dto.DuplicateReportResponse;
+import backend.geocivic.dto.ReportFilter;
+import backend.geocivic.dto.SearchHit;
+import backend.geocivic.dto.ReportSummary;
 import backend.geocivic.model.*;
 import backend.geocivic.repository.*;
+import backend.geocivic.service.CoinLedgerService;
+import backend.geocivic.service.DuplicateReportDetector;
+import backend.geocivic.service.NotificationService;
+import backend.geocivic.service.ImagePipeline;
+import backend.geocivic.service.PhotoMetadata;
+import backend.geocivic.service.ReportCache;
+import backend.geocivic.service.ReportIndexer;
+import backend.geocivic.service.ReportQueryService;
+import backend.geocivic.service.ReportSearchIndex;
+import backend.geocivic.service.ReportSpatialIndex;
+import backend.geocivic.service.ReportVoteService;
+import backend.geocivic.service.ResourceVersions;
+import backend.geocivic.service.UploadStore;
+import backend.geocivic.util.HttpCaching;
+import backend.geocivic.util.GeoUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -25,37 +43,111 @@ public class ReportController {
     @Autowired
     private ReportUpdateRepository reportUpdateRepository;
     @Autowired
-    private ReportVoteRepository reportVoteRepository;
+    private ReportVoteService reportVoteService;
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private NotificationRepository notificationRepository;
-
-    private final String UPLOAD_DIR = "./uploads/";
+    private ReportQueryService reportQueryService;
+    @Autowired
+    private ReportSpatialIndex reportSpatialIndex;
+    @Autowired
+    private DuplicateReportDetector duplicateReportDetector;
+    @Autowired
+    private ReportSearchIndex reportSearchIndex;
+    @Autowired
+    private ReportCache reportCache;
+    @Autowired
+    private CoinLedgerService coinLedgerService;
+    @Autowired
+    private ReportIndexer reportIndexer;
+    @Autowired
+    private ImagePipeline imagePipeline;
+    @Autowired
+    private UploadStore uploadStore;
+    @Autowired
+    private PhotoMetadata photoMetadata;
+    @Autowired
+    private ResourceVersions resourceVersions;
+    @Autowired
+    private NotificationService notificationService;
 
     // ── GET all reports (Admin sees everything) ────────────────────────────────
     @GetMapping
-    public List<Report> getAllReports() {
-        return reportRepository.findAll();
+    public ResponseEntity<List<ReportSummary>> getAllReports(WebRequest request) {
+        String etag = resourceVersions.reportListETag();
+        if (request.checkNotModified(etag))
+            return HttpCaching.notModified(etag);
+        return HttpCaching.ok(etag, reportRepository.findAllSummaries());
+    }
+
+    // ── GET one page of reports (filters + keyset cursor) ─────────────────────
+    // e.g. /api/reports/page?status=Open&category=Pothole&sort=newest&limit=20
+    // then /api/reports/page?...&cursor=<nextCursor from previous page>
+    @GetMapping("/page")
+    public ResponseEntity<?> getReportPage(
+            ReportFilter filter,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "" + ReportQueryService.DEFAULT_LIMIT) int limit) {
+        try {
+            return ResponseEntity.ok(reportQueryService.findPage(filter, ReportSort.fromParam(sort), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ── GET reports near a point (served from the in-memory spatial index) ────
+    // e.g. /api/reports/nearby?lat=13.08&lng=80.27&radius=500&limit=10&category=Pothole
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyReports(
+            @RequestParam("lat") double lat,
+            @RequestParam("lng") double lng,
+            @RequestParam(value = "radius", defaultValue = "500") double radius,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "status", required = false) List<String> statuses) {
+        if (!(lat >= -90 && lat <= 90) || !(lng >= -180 && lng <= 180))
+            return ResponseEntity.badRequest().body("lat must be within [-90, 90] and lng within [-180, 180].");
+        return ResponseEntity.ok(reportSpatialIndex.nearest(lat, lng, radius, limit, r -> (category == null
+                || category.equalsIgnoreCase(r.getCategory()))
+                && (statuses == null || statuses.isEmpty() || statuses.contains(r.getStatus()))));
+    }
+
+    // ── Full-text search over title, description, location and category ───────
+    // e.g. /api/reports/search?q=pothole anna nagar&limit=20
+    @GetMapping("/search")
+    public List<SearchHit> searchReports(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return reportSearchIndex.search(query, limit);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Report> getReportById(@PathVariable Long id) {
-        return reportRepository.findById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<Report> getReportById(@PathVariable Long id, WebRequest request) {
+        String etag = resourceVersions.reportETag(id);
+        if (request.checkNotModified(etag))
+            return HttpCaching.notModified(etag);
+        return reportCache.get(id)
+                .map(report -> HttpCaching.ok(etag, report))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // ── GET reports by user ───────────────────────────────────────────────────
     @GetMapping("/user/{userId}")
-    public List<Report> getReportsByUser(@PathVariable Long userId) {
-        return reportRepository.findByUserId(userId);
+    public ResponseEntity<List<ReportSummary>> getReportsByUser(@PathVariable Long userId, WebRequest request) {
+        String etag = resourceVersions.reportListETag();
+        if (request.checkNotModified(etag))
+            return HttpCaching.notModified(etag);
+        return HttpCaching.ok(etag, reportRepository.findSummariesByUserId(userId));
     }
 
     // ── GET reports assigned to a specific staff member ───────────────────────
     @GetMapping("/staff/{staffId}")
-    public List<Report> getReportsByStaff(@PathVariable Long staffId) {
-        return reportRepository.findByAssignedStaffId(staffId);
+    public ResponseEntity<List<ReportSummary>> getReportsByStaff(@PathVariable Long staffId, WebRequest request) {
+        String etag = resourceVersions.reportListETag();
+        if (request.checkNotModified(etag))
+            return HttpCaching.notModified(etag);
+        return HttpCaching.ok(etag, reportRepository.findSummariesByAssignedStaffId(staffId));
     }
 
     // ── CREATE report (User) ──────────────────────────────────────────────────
@@ -78,15 +170,27 @@ public class ReportController {
             Report report = new Report(title, location, description, category, user);
             report.setLatitude(latitude);
             report.setLongitude(longitude);
+            // Photo GPS fills in missing coordinates (so it also feeds the duplicate check)
+            photoMetadata.apply(report, image);
+
+            // Same issue already reported nearby? Point to it instead of filing a copy
+            Optional<Report> duplicate = duplicateReportDetector
+                    .findDuplicate(category, report.getLatitude(), report.getLongitude(), title, description)
+                    .flatMap(reportRepository::findById);
+            if (duplicate.isPresent())
+                return handleDuplicate(duplicate.get(), user);
 
             if (image != null && !image.isEmpty()) {
-                String fileName = saveFile(image);
-                report.setImagePath("/uploads/" + fileName);
+                report.setImagePath(uploadStore.store(image));
             }
 
-            Report savedReport = reportRepository.save(report);
-            notificationRepository.save(new Notification(user,
-                    "New report '" + title + "' submitted successfully! Our team will review it."));
+            Report savedReport = saveHoldingUpload(report, report.getImagePath());
+            reportIndexer.index(savedReport);
+            reportIndexer.changed(savedReport.getId());
+            if (savedReport.getImagePath() != null)
+                imagePipeline.submit(savedReport.getId(), ImagePipeline.Kind.PHOTO, savedReport.getImagePath());
+            notificationService.notify(user,
+                    "New report '" + title + "' submitted successfully! Our team will review it.");
             return ResponseEntity.ok(savedReport);
         } catch (IOException e) {
             return ResponseEntity.internalServerError().body("Error saving image: " + e.getMessage());
@@ -104,19 +208,21 @@ public class ReportController {
             report.setAssignedAgentName(staffName);
             report.setStatus("Progress");
             Report saved = reportRepository.save(report);
+            reportIndexer.index(saved);
 
             // Notify the citizen
-            notificationRepository.save(new Notification(report.getUser(),
-                    "Your report '" + report.getTitle() + "' is now In Progress. Assigned agent: " + staffName + "."));
+            notificationService.notify(report.getUser(),
+                    "Your report '" + report.getTitle() + "' is now In Progress. Assigned agent: " + staffName + ".");
 
             // Notify the staff
             User staff = userRepository.findById(staffId).orElse(null);
             if (staff != null) {
-                notificationRepository.save(new Notification(staff,
+                notificationService.notify(staff,
                         "You've been assigned to report TKT-" + String.format("%03d", report.getId()) + ": '"
-                                + report.getTitle() + "'."));
+                                + report.getTitle() + "'.");
             }
 
+            reportIndexer.changed(id);
             return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -132,7 +238,7 @@ public class ReportController {
         return reportRepository.findById(id).map(report -> {
             // Validate that staff is within 200m of the issue
             if (report.getLatitude() != null && report.getLongitude() != null) {
-                double distMeters = haversineDistance(
+                double distMeters = GeoUtils.haversineDistance(
                         report.getLatitude(), report.getLongitude(), staffLat, staffLng);
                 if (distMeters > 200) {
                     return ResponseEntity.badRequest()
@@ -141,11 +247,15 @@ public class ReportController {
                 }
             }
 
-            // Save proof image
+            // Save proof image (a replaced proof photo is released once the save is done)
+            String previousProof = report.getProofImagePath();
+            String storedProof = null;
             if (proofImage != null && !proofImage.isEmpty()) {
                 try {
-                    String fileName = saveFile(proofImage);
-                    report.setProofImagePath("/uploads/" + fileName);
+                    storedProof = uploadStore.store(proofImage);
+                    report.setProofImagePath(storedProof);
+                    report.setProofImageThumbPath(null);
+                    report.setProofImageMediumPath(null);
                 } catch (IOException e) {
                     return ResponseEntity.internalServerError().body("Error saving proof image.");
                 }
@@ -154,17 +264,24 @@ public class ReportController {
             report.setResolvedLatitude(staffLat);
             report.setResolvedLongitude(staffLng);
             report.setStatus("PendingVerification");
-            Report saved = reportRepository.save(report);
+            Report saved = saveHoldingUpload(report, storedProof);
+            reportIndexer.index(saved);
 
             // Log update
             reportUpdateRepository.save(new ReportUpdate(report, "PendingVerification",
                     "Staff has fixed the issue and uploaded proof. Awaiting citizen verification."));
 
             // Notify the citizen
-            notificationRepository.save(new Notification(report.getUser(),
+            notificationService.notify(report.getUser(),
                     "Great news! Your report '" + report.getTitle()
-                            + "' has been resolved. Please go to the location and verify!"));
+                            + "' has been resolved. Please go to the location and verify!");
 
+            reportIndexer.changed(id);
+            if (proofImage != null && !proofImage.isEmpty()) {
+                imagePipeline.submit(id, ImagePipeline.Kind.PROOF, saved.getProofImagePath());
+                if (previousProof != null && !previousProof.equals(saved.getProofImagePath()))
+                    uploadStore.release(previousProof);
+            }
             return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -180,7 +297,7 @@ public class ReportController {
             // Validate user is within 200m of the issue (only if coords provided and report
             // has coords)
             if (userLat != null && userLng != null && report.getLatitude() != null && report.getLongitude() != null) {
-                double distMeters = haversineDistance(
+                double distMeters = GeoUtils.haversineDistance(
                         report.getLatitude(), report.getLongitude(), userLat, userLng);
                 if (distMeters > 200) {
                     return ResponseEntity.badRequest()
@@ -192,19 +309,21 @@ public class ReportController {
             report.setIsVerified(true);
             report.setStatus("Resolved");
             Report saved = reportRepository.save(report);
+            reportIndexer.index(saved);
 
-            // Award coins (null-safe for users created before civic_coins column)
+            // Award coins: atomic increment plus a ledger entry
             User user = report.getUser();
-            int currentCoins = user.getCivicCoins() != null ? user.getCivicCoins() : 0;
-            user.setCivicCoins(currentCoins + 50);
-            userRepository.save(user);
+            coinLedgerService.credit(user.getId(), 50, CoinLedgerEntry.REPORT_VERIFIED,
+                    "Verified TKT-" + String.format("%03d", report.getId()), report.getId());
+            resourceVersions.userChanged(user.getId());
 
             reportUpdateRepository.save(
                     new ReportUpdate(report, "Resolved", "Citizen verified the fix at the location. Issue resolved!"));
-            notificationRepository.save(new Notification(user,
+            notificationService.notify(user,
                     "You've verified TKT-" + String.format("%03d", report.getId())
-                            + " and earned 50 CC! Issue is now officially Resolved."));
+                            + " and earned 50 CC! Issue is now officially Resolved.");
 
+            reportIndexer.changed(id);
             return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -218,9 +337,11 @@ public class ReportController {
         return reportRepository.findById(id).map(report -> {
             report.setStatus(status);
             Report savedReport = reportRepository.save(report);
+            reportIndexer.index(savedReport);
             reportUpdateRepository.save(new ReportUpdate(report, status, comment));
-            notificationRepository.save(new Notification(report.getUser(),
-                    "Your report '" + report.getTitle() + "' status changed to " + status));
+            notificationService.notify(report.getUser(),
+                    "Your report '" + report.getTitle() + "' status changed to " + status);
+            reportIndexer.changed(id);
             return ResponseEntity.ok(savedReport);
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -228,20 +349,12 @@ public class ReportController {
     // ── Vote on report ────────────────────────────────────────────────────────
     @PostMapping("/{id}/vote")
     public ResponseEntity<?> voteReport(@PathVariable Long id, @RequestParam Long userId) {
-        return reportRepository.findById(id).map(report -> {
-            boolean alreadyVoted = reportVoteRepository.findByReportIdAndUserId(id, userId).isPresent();
-            if (alreadyVoted)
-                return ResponseEntity.badRequest().body("You have already voted.");
-
-            User user = userRepository.findById(userId).orElse(null);
-            if (user == null)
-                return ResponseEntity.notFound().build();
-
-            reportVoteRepository.save(new ReportVote(report, user));
-            report.setUpvoteCount(report.getUpvoteCount() + 1);
-            reportRepository.save(report);
-            return ResponseEntity.ok(report);
-        }).orElse(ResponseEntity.notFound().build());
+        ReportVoteService.VoteResult result = recordVote(id, userId);
+        return switch (result.outcome()) {
+            case RECORDED -> ResponseEntity.ok(result.report());
+            case ALREADY_VOTED -> ResponseEntity.badRequest().body("You have already voted.");
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
     }
 
     // ── Get update history ────────────────────────────────────────────────────
@@ -251,25 +364,53 @@ public class ReportController {
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
-    private String saveFile(MultipartFile file) throws IOException {
-        Path uploadPath = Paths.get(UPLOAD_DIR);
-        if (!Files.exists(uploadPath))
-            Files.createDirectories(uploadPath);
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        Files.copy(file.getInputStream(), uploadPath.resolve(fileName));
-        return fileName;
+
+    /**
+     * Saves a report that was just given {@code storedUpload} (null if none).
+     * store() already counted the report's reference, so if the save fails the
+     * reference is dropped again rather than left for the startup reconcile.
+     */
+    private Report saveHoldingUpload(Report report, String storedUpload) {
+        try {
+            return reportRepository.save(report);
+        } catch (RuntimeException e) {
+            if (storedUpload != null)
+                uploadStore.release(storedUpload);
+            throw e;
+        }
+    }
+
+    private ReportVoteService.VoteResult recordVote(Long reportId, Long userId) {
+        ReportVoteService.VoteResult result = reportVoteService.vote(reportId, userId);
+        if (result.outcome() == ReportVoteService.Outcome.RECORDED) {
+            reportIndexer.index(result.report());
+            reportIndexer.changed(reportId);
+        }
+        return result;
     }
 
     /**
-     * Haversine formula to compute distance in metres between two lat/lng points
+     * Responds to a submission that repeats an open report: either rejects it
+     * (409) or, by default, counts it as the citizen's upvote on the original.
      */
-    private double haversineDistance(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 6371000; // Earth radius in metres
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                        * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        return R * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    private ResponseEntity<?> handleDuplicate(Report existing, User user) {
+        String ticket = "TKT-" + String.format("%03d", existing.getId());
+
+        if (duplicateReportDetector.getAction() == DuplicateReportDetector.Action.REJECT) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new DuplicateReportResponse(existing.getId(), false,
+                    "This issue has already been reported as " + ticket + ". Please upvote it instead."));
+        }
+
+        boolean ownReport = existing.getUser() != null && existing.getUser().getId().equals(user.getId());
+        boolean alreadyVoted = ownReport
+                || recordVote(existing.getId(), user.getId()).outcome() != ReportVoteService.Outcome.RECORDED;
+
+        notificationService.notify(user,
+                "Your report matches " + ticket + ": '" + existing.getTitle() + "', which is already being tracked. "
+                        + (alreadyVoted ? "" : "We've added your upvote to it. ")
+                        + "You'll be able to follow its progress there.");
+        return ResponseEntity.ok(new DuplicateReportResponse(existing.getId(), !alreadyVoted,
+                "This issue has already been reported as " + ticket + "."
+                        + (alreadyVoted ? "" : " Your submission was added as an upvote.")));
     }
 }
@@ -1,12 +1,19 @@
 package backend.geocivic.controller;
 
+import backend.geocivic.model.CoinLedgerEntry;
 import backend.geocivic.model.User;
 import backend.geocivic.model.Notification;
 import backend.geocivic.repository.UserRepository;
 import backend.geocivic.repository.NotificationRepository;
+import backend.geocivic.service.CoinLedgerService;
+import backend.geocivic.service.Leaderboard;
+import backend.geocivic.service.NotificationService;
+import backend.geocivic.service.ResourceVersions;
+import backend.geocivic.util.HttpCaching;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -22,6 +29,18 @@ public class UserController {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private CoinLedgerService coinLedgerService;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
     // Get all staff users (for admin dropdown)
     @GetMapping("/staff")
     public List<User> getStaffUsers() {
@@ -29,24 +48,28 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserProfile(@PathVariable Long id) {
+    public ResponseEntity<User> getUserProfile(@PathVariable Long id, WebRequest request) {
+        String etag = resourceVersions.userETag(id);
+        if (request.checkNotModified(etag))
+            return HttpCaching.notModified(etag);
         return userRepository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(user -> HttpCaching.ok(etag, user))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}/notifications")
-    public List<Notification> getNotifications(@PathVariable Long id) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(id);
+    public ResponseEntity<List<Notification>> getNotifications(@PathVariable Long id, WebRequest request) {
+        String etag = resourceVersions.notificationsETag(id);
+        if (request.checkNotModified(etag))
+            return HttpCaching.notModified(etag);
+        return HttpCaching.ok(etag, notificationRepository.findByUserIdOrderByCreatedAtDesc(id));
     }
 
     @PutMapping("/notifications/{id}/read")
     public ResponseEntity<?> markNotificationRead(@PathVariable Long id) {
-        return notificationRepository.findById(id).map(notif -> {
-            notif.setIsRead(true);
-            notificationRepository.save(notif);
-            return ResponseEntity.ok().build();
-        }).orElse(ResponseEntity.notFound().build());
+        return notificationService.markRead(id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
     }
 
     @PutMapping("/{id}")
@@ -58,6 +81,8 @@ public class UserController {
                     user.setArea(userDetails.getArea());
                     user.setAvatarUrl(userDetails.getAvatarUrl());
                     userRepository.save(user);
+                    leaderboard.userUpdated(user);
+                    resourceVersions.userChanged(id);
                     return ResponseEntity.ok(user);
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -65,17 +90,38 @@ public class UserController {
 
     @PostMapping("/{id}/redeem")
     public ResponseEntity<?> redeemReward(@PathVariable Long id, @RequestBody Map<String, Object> body) {
-        int cost = (int) body.get("cost");
+        if (!(body.get("cost") instanceof Integer cost) || cost <= 0)
+            return ResponseEntity.badRequest().body("Cost must be a positive whole number.");
         String itemName = (String) body.getOrDefault("itemName", "Reward");
-        return userRepository.findById(id).map(user -> {
-            int current = user.getCivicCoins() != null ? user.getCivicCoins() : 0;
-            if (current < cost) {
-                return ResponseEntity.badRequest()
-                        .body("Not enough CC Coins. You need " + cost + " but have " + current + ".");
+
+        CoinLedgerService.CoinResult result = coinLedgerService.debit(id, cost, CoinLedgerEntry.REWARD_REDEEMED,
+                "Redeemed " + itemName);
+        return switch (result.outcome()) {
+            case OK -> {
+                resourceVersions.userChanged(id);
+                yield userRepository.findById(id)
+                        .<ResponseEntity<?>>map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
             }
-            user.setCivicCoins(current - cost);
-            userRepository.save(user);
-            return ResponseEntity.ok(user);
-        }).orElse(ResponseEntity.notFound().build());
+            case INSUFFICIENT_FUNDS -> ResponseEntity.badRequest()
+                    .body("Not enough CC Coins. You need " + cost + " but have " + result.balance() + ".");
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
+    }
+
+    // ── Coin history: newest first, then ?cursor=<nextCursor> for older ───────
+    @GetMapping("/{id}/coins/history")
+    public ResponseEntity<?> getCoinHistory(@PathVariable Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "" + CoinLedgerService.DEFAULT_HISTORY_LIMIT) int limit,
+            WebRequest request) {
+        String etag = resourceVersions.userETag(id);
+        if (request.checkNotModified(etag))
+            return HttpCaching.notModified(etag);
+        try {
+            return HttpCaching.ok(etag, coinLedgerService.history(id, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
@@ -0,0 +1,159 @@
+package backend.geocivic.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-aggregated numbers for the admin analytics dashboard
+ * (GET /api/analytics). Everything here is read from in-memory counters.
+ */
+public class AnalyticsSummary {
+
+    private long total;
+    private long open;
+    private long inProgress;
+    private long pendingVerification;
+    private long resolved;
+    private long assigned;
+    private long unassigned;
+    private int resolutionRate;
+    private long last7Days;
+    private long previous7Days;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byCategory;
+    private List<MonthCount> monthly;
+    private List<LocationCount> topLocations;
+    private List<StaffPerformance> staff;
+
+    /** Reports created in one calendar month, and how many of those are now resolved. */
+    public record MonthCount(String month, long count, long resolvedCount) {
+    }
+
+    public record LocationCount(String location, long count) {
+    }
+
+    public record StaffPerformance(Long staffId, String name, long total, long done, long pending, int rate) {
+    }
+
+    // ── Getters & Setters ──────────────────────────────────────────────────
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getOpen() {
+        return open;
+    }
+
+    public void setOpen(long open) {
+        this.open = open;
+    }
+
+    public long getInProgress() {
+        return inProgress;
+    }
+
+    public void setInProgress(long inProgress) {
+        this.inProgress = inProgress;
+    }
+
+    public long getPendingVerification() {
+        return pendingVerification;
+    }
+
+    public void setPendingVerification(long pendingVerification) {
+        this.pendingVerification = pendingVerification;
+    }
+
+    public long getResolved() {
+        return resolved;
+    }
+
+    public void setResolved(long resolved) {
+        this.resolved = resolved;
+    }
+
+    public long getAssigned() {
+        return assigned;
+    }
+
+    public void setAssigned(long assigned) {
+        this.assigned = assigned;
+    }
+
+    public long getUnassigned() {
+        return unassigned;
+    }
+
+    public void setUnassigned(long unassigned) {
+        this.unassigned = unassigned;
+    }
+
+    public int getResolutionRate() {
+        return resolutionRate;
+    }
+
+    public void setResolutionRate(int resolutionRate) {
+        this.resolutionRate = resolutionRate;
+    }
+
+    public long getLast7Days() {
+        return last7Days;
+    }
+
+    public void setLast7Days(long last7Days) {
+        this.last7Days = last7Days;
+    }
+
+    public long getPrevious7Days() {
+        return previous7Days;
+    }
+
+    public void setPrevious7Days(long previous7Days) {
+        this.previous7Days = previous7Days;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(Map<String, Long> byCategory) {
+        this.byCategory = byCategory;
+    }
+
+    public List<MonthCount> getMonthly() {
+        return monthly;
+    }
+
+    public void setMonthly(List<MonthCount> monthly) {
+        this.monthly = monthly;
+    }
+
+    public List<LocationCount> getTopLocations() {
+        return topLocations;
+    }
+
+    public void setTopLocations(List<LocationCount> topLocations) {
+        this.topLocations = topLocations;
+    }
+
+    public List<StaffPerformance> getStaff() {
+        return staff;
+    }
+
+    public void setStaff(List<StaffPerformance> staff) {
+        this.staff = staff;
+    }
+}
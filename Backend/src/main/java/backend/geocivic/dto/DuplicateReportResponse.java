@@ -0,0 +1,36 @@
+package backend.geocivic.dto;
+
+/**
+ * Returned by POST /api/reports instead of a new report when the submission
+ * matches an open report nearby.
+ */
+public class DuplicateReportResponse {
+
+    /** ID of the existing report the submission was matched to. */
+    private final Long duplicateOf;
+
+    /** True when the submission was turned into an upvote on the existing report. */
+    private final boolean upvoted;
+
+    private final String message;
+
+    public DuplicateReportResponse(Long duplicateOf, boolean upvoted, String message) {
+        this.duplicateOf = duplicateOf;
+        this.upvoted = upvoted;
+        this.message = message;
+    }
+
+    // ── Getters ────────────────────────────────────────────────────────────
+
+    public Long getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public boolean isUpvoted() {
+        return upvoted;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
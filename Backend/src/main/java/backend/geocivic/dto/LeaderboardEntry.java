@@ -0,0 +1,44 @@
+package backend.geocivic.dto;
+
+/**
+ * One citizen's place on a leaderboard (GET /api/leaderboard). Equal scores
+ * share a rank ("1, 2, 2, 4").
+ */
+public class LeaderboardEntry {
+
+    private final int rank;
+    private final Long userId;
+    private final String fullName;
+    private final String area;
+    private final int score;
+
+    public LeaderboardEntry(int rank, Long userId, String fullName, String area, int score) {
+        this.rank = rank;
+        this.userId = userId;
+        this.fullName = fullName;
+        this.area = area;
+        this.score = score;
+    }
+
+    // ── Getters ────────────────────────────────────────────────────────────
+
+    public int getRank() {
+        return rank;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,66 @@
+package backend.geocivic.dto;
+
+import java.util.Map;
+
+/**
+ * Aggregated reports inside one map grid cell, as returned by /api/map.
+ * latitude/longitude are the centroid of the reports in the cell, which is
+ * where the frontend should draw the cluster marker.
+ */
+public class MapCluster {
+
+    private final int level;
+    private final int x;
+    private final int y;
+    private final long count;
+    private final double latitude;
+    private final double longitude;
+    private final Map<String, Long> byStatus;
+    private final Map<String, Long> byCategory;
+
+    public MapCluster(int level, int x, int y, long count, double latitude, double longitude,
+            Map<String, Long> byStatus, Map<String, Long> byCategory) {
+        this.level = level;
+        this.x = x;
+        this.y = y;
+        this.count = count;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.byStatus = byStatus;
+        this.byCategory = byCategory;
+    }
+
+    // ── Getters ────────────────────────────────────────────────────────────
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public Map<String, Long> getByCategory() {
+        return byCategory;
+    }
+}
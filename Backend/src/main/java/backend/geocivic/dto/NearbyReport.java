@@ -0,0 +1,70 @@
+package backend.geocivic.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One hit from GET /api/reports/nearby, answered entirely from the in-memory
+ * spatial index (no database round-trip).
+ */
+public class NearbyReport {
+
+    private final Long id;
+    private final String title;
+    private final String category;
+    private final String status;
+    private final Double latitude;
+    private final Double longitude;
+    private final Integer upvoteCount;
+    private final LocalDateTime createdAt;
+    private final long distanceMeters;
+
+    public NearbyReport(ReportSummary report, double distanceMeters) {
+        this.id = report.getId();
+        this.title = report.getTitle();
+        this.category = report.getCategory();
+        this.status = report.getStatus();
+        this.latitude = report.getLatitude();
+        this.longitude = report.getLongitude();
+        this.upvoteCount = report.getUpvoteCount();
+        this.createdAt = report.getCreatedAt();
+        this.distanceMeters = Math.round(distanceMeters);
+    }
+
+    // ── Getters ────────────────────────────────────────────────────────────
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public Integer getUpvoteCount() {
+        return upvoteCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getDistanceMeters() {
+        return distanceMeters;
+    }
+}
@@ -0,0 +1,45 @@
+package backend.geocivic.dto;
+
+import backend.geocivic.model.Notification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification without its User, as pushed over the notification stream.
+ */
+public class NotificationView {
+
+    private final Long id;
+    private final String message;
+    private final Boolean isRead;
+    private final LocalDateTime createdAt;
+
+    public NotificationView(Long id, String message, Boolean isRead, LocalDateTime createdAt) {
+        this.id = id;
+        this.message = message;
+        this.isRead = isRead;
+        this.createdAt = createdAt;
+    }
+
+    public static NotificationView of(Notification n) {
+        return new NotificationView(n.getId(), n.getMessage(), n.getIsRead(), n.getCreatedAt());
+    }
+
+    // ── Getters ────────────────────────────────────────────────────────────
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Boolean getIsRead() {
+        return isRead;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
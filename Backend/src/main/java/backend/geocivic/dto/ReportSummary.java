@@ -0,0 +1,146 @@
+package backend.geocivic.dto;
+
+import backend.geocivic.model.Report;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for report list endpoints.
+ *
+ * Built directly by a JPQL constructor expression (one query, one join on
+ * users), so listing never loads the Report entity, its eager user or its
+ * lazy updates collection. The full entity is only returned by
+ * GET /api/reports/{id}.
+ */
+public class ReportSummary {
+
+    private final Long id;
+    private final String title;
+    private final String location;
+    private final String category;
+    private final String status;
+    private final String imagePath;
+    private final String proofImagePath;
+    private final String imageThumbPath;
+    private final String proofImageThumbPath;
+    private final Double latitude;
+    private final Double longitude;
+    private final String assignedAgentName;
+    private final Long assignedStaffId;
+    private final Integer upvoteCount;
+    private final Boolean isVerified;
+    private final LocalDateTime createdAt;
+    private final Long userId;
+    private final String userName;
+
+    public ReportSummary(Long id, String title, String location, String category, String status,
+            String imagePath, String proofImagePath, String imageThumbPath, String proofImageThumbPath,
+            Double latitude, Double longitude,
+            String assignedAgentName, Long assignedStaffId, Integer upvoteCount, Boolean isVerified,
+            LocalDateTime createdAt, Long userId, String userName) {
+        this.id = id;
+        this.title = title;
+        this.location = location;
+        this.category = category;
+        this.status = status;
+        this.imagePath = imagePath;
+        this.proofImagePath = proofImagePath;
+        this.imageThumbPath = imageThumbPath;
+        this.proofImageThumbPath = proofImageThumbPath;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.assignedAgentName = assignedAgentName;
+        this.assignedStaffId = assignedStaffId;
+        this.upvoteCount = upvoteCount;
+        this.isVerified = isVerified;
+        this.createdAt = createdAt;
+        this.userId = userId;
+        this.userName = userName;
+    }
+
+    /** Builds a summary from an already-loaded entity (e.g. right after a save). */
+    public static ReportSummary of(Report r) {
+        return new ReportSummary(r.getId(), r.getTitle(), r.getLocation(), r.getCategory(), r.getStatus(),
+                r.getImagePath(), r.getProofImagePath(), r.getImageThumbPath(), r.getProofImageThumbPath(),
+                r.getLatitude(), r.getLongitude(),
+                r.getAssignedAgentName(), r.getAssignedStaffId(), r.getUpvoteCount(), r.getIsVerified(),
+                r.getCreatedAt(),
+                r.getUser() != null ? r.getUser().getId() : null,
+                r.getUser() != null ? r.getUser().getFullName() : null);
+    }
+
+    // ── Getters ────────────────────────────────────────────────────────────
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    public String getProofImagePath() {
+        return proofImagePath;
+    }
+
+    /** Small copy for list cards; null until the image pipeline has run. */
+    public String getImageThumbPath() {
+        return imageThumbPath;
+    }
+
+    public String getProofImageThumbPath() {
+        return proofImageThumbPath;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getAssignedAgentName() {
+        return assignedAgentName;
+    }
+
+    public Long getAssignedStaffId() {
+        return assignedStaffId;
+    }
+
+    public Integer getUpvoteCount() {
+        return upvoteCount;
+    }
+
+    public Boolean getIsVerified() {
+        return isVerified;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+}
@@ -0,0 +1,13 @@
+package backend.geocivic.dto;
+
+/**
+ * Spring Data projection with just the free-text columns of a report.
+ */
+public interface ReportText {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+}
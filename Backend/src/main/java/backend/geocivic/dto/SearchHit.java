@@ -0,0 +1,25 @@
+package backend.geocivic.dto;
+
+/**
+ * One ranked result from GET /api/reports/search.
+ */
+public class SearchHit {
+
+    private final double score;
+    private final ReportSummary report;
+
+    public SearchHit(double score, ReportSummary report) {
+        this.score = score;
+        this.report = report;
+    }
+
+    // ── Getters ────────────────────────────────────────────────────────────
+
+    public double getScore() {
+        return score;
+    }
+
+    public ReportSummary getReport() {
+        return report;
+    }
+}
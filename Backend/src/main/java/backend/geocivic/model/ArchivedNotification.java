@@ -0,0 +1,55 @@
+package backend.geocivic.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A read notification moved out of the hot {@code notifications} table by the
+ * retention job. Keeps the original id; the user is stored as a plain id so
+ * archiving never touches the users table.
+ */
+@Entity
+@Table(name = "notifications_archive", indexes = {
+        @Index(name = "idx_notifications_archive_user_created_at", columnList = "user_id, created_at")
+})
+public class ArchivedNotification {
+    @Id
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private String message;
+
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+    private LocalDateTime archivedAt;
+
+    public ArchivedNotification() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Boolean getIsRead() {
+        return isRead;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,91 @@
+package backend.geocivic.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+
+/**
+ * One movement of a citizen's civic coins. Rows are only ever inserted;
+ * the running balance lives on {@link User#getCivicCoins()} and each entry
+ * records what it was right after the movement.
+ */
+@Entity
+@Immutable
+@Table(name = "coin_ledger", indexes = {
+        @Index(name = "idx_coin_ledger_user_id", columnList = "user_id, id")
+})
+public class CoinLedgerEntry {
+
+    public static final String REPORT_VERIFIED = "REPORT_VERIFIED";
+    public static final String REWARD_REDEEMED = "REWARD_REDEEMED";
+    public static final String OPENING_BALANCE = "OPENING_BALANCE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** Positive for credits, negative for debits. */
+    @Column(nullable = false)
+    private Integer amount;
+
+    @Column(nullable = false)
+    private Integer balanceAfter;
+
+    @Column(nullable = false)
+    private String reason;
+
+    private String description;
+
+    /** The report a credit was earned on, when there is one. */
+    private Long reportId;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public CoinLedgerEntry() {
+    }
+
+    public CoinLedgerEntry(Long userId, Integer amount, Integer balanceAfter, String reason, String description,
+            Long reportId) {
+        this.userId = userId;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.reason = reason;
+        this.description = description;
+        this.reportId = reportId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public Integer getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getReportId() {
+        return reportId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
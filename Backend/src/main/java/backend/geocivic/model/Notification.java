@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Feed: a user's notifications newest first (InnoDB appends id as the tie-breaker)
+        @Index(name = "idx_notifications_user_created_at", columnList = "user_id, created_at"),
+        // Retention: oldest read notifications first
+        @Index(name = "idx_notifications_read_created_at", columnList = "is_read, created_at")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -2,10 +2,17 @@ package backend.geocivic.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
+// upvote_count is owned by ReportVoteService's atomic increment
 @Entity
-@Table(name = "reports")
+@DynamicUpdate
+@Table(name = "reports", indexes = {
+        @Index(name = "idx_reports_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_reports_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_reports_assigned_staff_id", columnList = "assigned_staff_id")
+})
 public class Report {
 
     @Id
@@ -28,12 +35,23 @@ public class Report {
     private String status = "Open";
 
     private String imagePath;
+    // Resized copies written by ImagePipeline; null until it has run
+    private String imageThumbPath;
+    private String imageMediumPath;
     private Double latitude;
     private Double longitude;
+    // Read from the photo's EXIF on upload; null when it carries none
+    private Double photoLatitude;
+    private Double photoLongitude;
+    private LocalDateTime photoTakenAt;
+    // Photo GPS and submitted coordinates disagree (see PhotoMetadata)
+    private Boolean locationMismatch = false;
 
     private String assignedAgentName;
     private Long assignedStaffId;
     private String proofImagePath;
+    private String proofImageThumbPath;
+    private String proofImageMediumPath;
     private Double resolvedLatitude;
     private Double resolvedLongitude;
     private String assignedAgentPhoto;
@@ -129,6 +147,22 @@ public class Report {
         this.imagePath = imagePath;
     }
 
+    public String getImageThumbPath() {
+        return imageThumbPath;
+    }
+
+    public void setImageThumbPath(String imageThumbPath) {
+        this.imageThumbPath = imageThumbPath;
+    }
+
+    public String getImageMediumPath() {
+        return imageMediumPath;
+    }
+
+    public void setImageMediumPath(String imageMediumPath) {
+        this.imageMediumPath = imageMediumPath;
+    }
+
     public Double getLatitude() {
         return latitude;
     }
@@ -145,6 +179,38 @@ public class Report {
         this.longitude = longitude;
     }
 
+    public Double getPhotoLatitude() {
+        return photoLatitude;
+    }
+
+    public void setPhotoLatitude(Double photoLatitude) {
+        this.photoLatitude = photoLatitude;
+    }
+
+    public Double getPhotoLongitude() {
+        return photoLongitude;
+    }
+
+    public void setPhotoLongitude(Double photoLongitude) {
+        this.photoLongitude = photoLongitude;
+    }
+
+    public LocalDateTime getPhotoTakenAt() {
+        return photoTakenAt;
+    }
+
+    public void setPhotoTakenAt(LocalDateTime photoTakenAt) {
+        this.photoTakenAt = photoTakenAt;
+    }
+
+    public Boolean getLocationMismatch() {
+        return locationMismatch;
+    }
+
+    public void setLocationMismatch(Boolean locationMismatch) {
+        this.locationMismatch = locationMismatch;
+    }
+
     public String getAssignedAgentName() {
         return assignedAgentName;
     }
@@ -173,6 +239,22 @@ public class Report {
         this.proofImagePath = proofImagePath;
     }
 
+    public String getProofImageThumbPath() {
+        return proofImageThumbPath;
+    }
+
+    public void setProofImageThumbPath(String proofImageThumbPath) {
+        this.proofImageThumbPath = proofImageThumbPath;
+    }
+
+    public String getProofImageMediumPath() {
+        return proofImageMediumPath;
+    }
+
+    public void setProofImageMediumPath(String proofImageMediumPath) {
+        this.proofImageMediumPath = proofImageMediumPath;
+    }
+
     public Double getResolvedLatitude() {
         return resolvedLatitude;
     }
@@ -0,0 +1,50 @@
+package backend.geocivic.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A content-addressed file under uploads/ and how many report photo fields
+ * point at it. Maintained by UploadStore with single-statement upserts; the
+ * file is deleted when the count drops to zero.
+ */
+@Entity
+@Table(name = "stored_uploads")
+public class StoredUpload {
+
+    /** URL path as stored on Report, e.g. "/uploads/<sha-256>.jpg". */
+    @Id
+    @Column(length = 128)
+    private String path;
+
+    private Long sizeBytes;
+
+    @Column(nullable = false)
+    private Integer refCount = 0;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime lastReferencedAt;
+
+    public StoredUpload() {
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public Integer getRefCount() {
+        return refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLastReferencedAt() {
+        return lastReferencedAt;
+    }
+}
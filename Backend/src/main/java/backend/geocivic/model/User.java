@@ -1,8 +1,11 @@
 package backend.geocivic.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
+// civic_coins is owned by CoinLedgerService's conditional UPDATEs
 @Entity
+@DynamicUpdate
 @Table(name = "users")
 public class User {
 
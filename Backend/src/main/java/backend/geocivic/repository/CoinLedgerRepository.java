@@ -0,0 +1,13 @@
+package backend.geocivic.repository;
+
+import backend.geocivic.model.CoinLedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface CoinLedgerRepository extends JpaRepository<CoinLedgerEntry, Long> {
+    // Keyset paging, newest first: ids only grow, so the id alone is the cursor
+    List<CoinLedgerEntry> findByUserIdOrderByIdDesc(Long userId, Pageable page);
+
+    List<CoinLedgerEntry> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long id, Pageable page);
+}
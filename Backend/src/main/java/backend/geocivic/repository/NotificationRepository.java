@@ -1,9 +1,42 @@
 package backend.geocivic.repository;
 
 import backend.geocivic.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    // ── Keyset feed: newest first, (createdAt, id) strictly after the cursor ──
+    List<Notification> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable page);
+
+    @Query("select n from Notification n where n.user.id = :userId "
+            + "and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id)) "
+            + "order by n.createdAt desc, n.id desc")
+    List<Notification> findPageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable page);
+
+    // Replay for a resuming notification stream (ids are the SSE event ids)
+    List<Notification> findTop100ByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id);
+
+    long countByUserIdAndIsReadFalse(Long userId);
+
+    @Query("select n.user.id from Notification n where n.id = :id")
+    Long findUserIdById(@Param("id") Long id);
+
+    // ── Bulk read-marking: one UPDATE, returns how many rows flipped ──────────
+    @Modifying
+    @Query("update Notification n set n.isRead = true where n.user.id = :userId and n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update Notification n set n.isRead = true "
+            + "where n.user.id = :userId and n.id in :ids and n.isRead = false")
+    int markRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 }
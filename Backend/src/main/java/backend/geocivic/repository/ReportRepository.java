@@ -1,13 +1,87 @@
 package backend.geocivic.repository;
 
+import backend.geocivic.dto.ReportSummary;
+import backend.geocivic.dto.ReportText;
 import backend.geocivic.model.Report;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 
-public interface ReportRepository extends JpaRepository<Report, Long> {
+public interface ReportRepository
+        extends JpaRepository<Report, Long>, JpaSpecificationExecutor<Report>, ReportRepositoryCustom {
+
+    String SUMMARY_SELECT = "select new backend.geocivic.dto.ReportSummary("
+            + "r.id, r.title, r.location, r.category, r.status, "
+            + "r.imagePath, r.proofImagePath, r.imageThumbPath, r.proofImageThumbPath, "
+            + "r.latitude, r.longitude, r.assignedAgentName, r.assignedStaffId, r.upvoteCount, r.isVerified, "
+            + "r.createdAt, u.id, u.fullName) from Report r join r.user u ";
+
     List<Report> findByUserId(Long userId);
 
     List<Report> findByCategory(String category);
 
     List<Report> findByAssignedStaffId(Long staffId);
+
+    // ── List projections (one query each, no entity loading) ─────────────────
+    @Query(SUMMARY_SELECT + "order by r.createdAt desc, r.id desc")
+    List<ReportSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "where u.id = :userId order by r.createdAt desc, r.id desc")
+    List<ReportSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(SUMMARY_SELECT + "where r.assignedStaffId = :staffId order by r.createdAt desc, r.id desc")
+    List<ReportSummary> findSummariesByAssignedStaffId(@Param("staffId") Long staffId);
+
+    List<ReportText> findByIdIn(Collection<Long> ids);
+
+    List<ReportText> findAllTextsBy();
+
+    // Atomic vote counter: the database does the +1, no read-modify-write
+    @Modifying
+    @Query("update Report r set r.upvoteCount = coalesce(r.upvoteCount, 0) + 1 where r.id = :id")
+    int incrementUpvotes(@Param("id") Long id);
+
+    // ── Image variants (written by ImagePipeline off the request thread) ──────
+    // Guarded by the original path so a late job never labels a newer photo
+    @Transactional
+    @Modifying
+    @Query("update Report r set r.imageThumbPath = :thumb, r.imageMediumPath = :medium "
+            + "where r.id = :id and r.imagePath = :original")
+    int setImageVariants(@Param("id") Long id, @Param("original") String original,
+            @Param("thumb") String thumb, @Param("medium") String medium);
+
+    @Transactional
+    @Modifying
+    @Query("update Report r set r.proofImageThumbPath = :thumb, r.proofImageMediumPath = :medium "
+            + "where r.id = :id and r.proofImagePath = :original")
+    int setProofImageVariants(@Param("id") Long id, @Param("original") String original,
+            @Param("thumb") String thumb, @Param("medium") String medium);
+
+    // An oversized original swapped for its shrunk copy, with the copy's variants
+    @Transactional
+    @Modifying
+    @Query("update Report r set r.imagePath = :replacement, r.imageThumbPath = :thumb, r.imageMediumPath = :medium "
+            + "where r.id = :id and r.imagePath = :original")
+    int replaceImage(@Param("id") Long id, @Param("original") String original,
+            @Param("replacement") String replacement, @Param("thumb") String thumb, @Param("medium") String medium);
+
+    @Transactional
+    @Modifying
+    @Query("update Report r set r.proofImagePath = :replacement, r.proofImageThumbPath = :thumb, "
+            + "r.proofImageMediumPath = :medium where r.id = :id and r.proofImagePath = :original")
+    int replaceProofImage(@Param("id") Long id, @Param("original") String original,
+            @Param("replacement") String replacement, @Param("thumb") String thumb, @Param("medium") String medium);
+
+    // [id, path] of photos that have no variants yet (backfilled at startup)
+    @Query("select r.id, r.imagePath from Report r where r.imagePath is not null and r.imageThumbPath is null")
+    List<Object[]> findImagesWithoutVariants();
+
+    @Query("select r.id, r.proofImagePath from Report r "
+            + "where r.proofImagePath is not null and r.proofImageThumbPath is null")
+    List<Object[]> findProofImagesWithoutVariants();
 }
@@ -0,0 +1,16 @@
+package backend.geocivic.repository;
+
+import backend.geocivic.dto.ReportSummary;
+import backend.geocivic.model.Report;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Queries that Spring Data cannot derive: specification-filtered listing that
+ * selects straight into {@link ReportSummary} instead of loading entities.
+ */
+public interface ReportRepositoryCustom {
+
+    List<ReportSummary> findSummaries(Specification<Report> spec, ReportSort sort, int limit);
+}
@@ -0,0 +1,44 @@
+package backend.geocivic.repository;
+
+import backend.geocivic.dto.ReportSummary;
+import backend.geocivic.model.Report;
+import backend.geocivic.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class ReportRepositoryImpl implements ReportRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReportSummary> findSummaries(Specification<Report> spec, ReportSort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportSummary> query = cb.createQuery(ReportSummary.class);
+        Root<Report> r = query.from(Report.class);
+        Join<Report, User> u = r.join("user");
+
+        // Keep the column order in sync with the ReportSummary constructor
+        query.select(cb.construct(ReportSummary.class,
+                r.get("id"), r.get("title"), r.get("location"), r.get("category"), r.get("status"),
+                r.get("imagePath"), r.get("proofImagePath"), r.get("imageThumbPath"), r.get("proofImageThumbPath"),
+                r.get("latitude"), r.get("longitude"),
+                r.get("assignedAgentName"), r.get("assignedStaffId"), r.get("upvoteCount"), r.get("isVerified"),
+                r.get("createdAt"), u.get("id"), u.get("fullName")));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(r, query, cb);
+            if (predicate != null)
+                query.where(predicate);
+        }
+        query.orderBy(sort.toOrders(r, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
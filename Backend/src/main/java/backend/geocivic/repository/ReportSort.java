@@ -0,0 +1,66 @@
+package backend.geocivic.repository;
+
+import backend.geocivic.model.Report;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Sort orders supported by the paginated report listing.
+ * Every order ends with "id" as a tie-breaker so the (key, id) pair is unique
+ * and can be used as a keyset cursor.
+ */
+public enum ReportSort {
+    NEWEST("createdAt", Sort.Direction.DESC),
+    OLDEST("createdAt", Sort.Direction.ASC),
+    MOST_VOTED("upvoteCount", Sort.Direction.DESC);
+
+    private final String attribute;
+    private final Sort.Direction direction;
+
+    ReportSort(String attribute, Sort.Direction direction) {
+        this.attribute = attribute;
+        this.direction = direction;
+    }
+
+    public boolean isDescending() {
+        return direction.isDescending();
+    }
+
+    /**
+     * The sort key as a query expression. Older rows may have a NULL vote
+     * count; it is read as 0 both here and in the keyset condition, so those
+     * rows sort and page like any other instead of dropping out after page one.
+     */
+    Expression<?> key(Root<Report> root, CriteriaBuilder cb) {
+        if (this == MOST_VOTED)
+            return cb.coalesce(root.<Integer>get(attribute), 0);
+        return root.get(attribute);
+    }
+
+    List<Order> toOrders(Root<Report> root, CriteriaBuilder cb) {
+        Expression<?> key = key(root, cb);
+        if (isDescending())
+            return List.of(cb.desc(key), cb.desc(root.get("id")));
+        return List.of(cb.asc(key), cb.asc(root.get("id")));
+    }
+
+    /**
+     * Parses the "sort" query parameter. Accepts "newest", "oldest" and
+     * "votes" / "most_voted" (case-insensitive).
+     */
+    public static ReportSort fromParam(String value) {
+        if (value == null || value.isBlank())
+            return NEWEST;
+        return switch (value.trim().toLowerCase()) {
+            case "newest" -> NEWEST;
+            case "oldest" -> OLDEST;
+            case "votes", "most_voted" -> MOST_VOTED;
+            default -> throw new IllegalArgumentException("Unknown sort '" + value + "'.");
+        };
+    }
+}
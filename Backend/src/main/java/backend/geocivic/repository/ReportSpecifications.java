@@ -0,0 +1,86 @@
+package backend.geocivic.repository;
+
+import backend.geocivic.model.Report;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Reusable filters for the paginated report listing.
+ * Each factory returns null when its argument is empty so callers can chain
+ * them with {@link Specification#where} / {@code and} without null checks.
+ */
+public final class ReportSpecifications {
+
+    private ReportSpecifications() {
+    }
+
+    public static Specification<Report> statusIn(Collection<String> statuses) {
+        if (statuses == null || statuses.isEmpty())
+            return null;
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Report> categoryIn(Collection<String> categories) {
+        if (categories == null || categories.isEmpty())
+            return null;
+        return (root, query, cb) -> root.get("category").in(categories);
+    }
+
+    public static Specification<Report> reportedBy(Long userId) {
+        if (userId == null)
+            return null;
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Report> assignedTo(Long staffId) {
+        if (staffId == null)
+            return null;
+        return (root, query, cb) -> cb.equal(root.get("assignedStaffId"), staffId);
+    }
+
+    /** Reports created at or after {@code from} (inclusive). */
+    public static Specification<Report> createdFrom(LocalDateTime from) {
+        if (from == null)
+            return null;
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    /** Reports created strictly before {@code to} (exclusive). */
+    public static Specification<Report> createdBefore(LocalDateTime to) {
+        if (to == null)
+            return null;
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    /**
+     * Keyset condition: only rows that come strictly after the (key, id) pair of
+     * the last row on the previous page, in the given sort order.
+     */
+    @SuppressWarnings("unchecked")
+    public static Specification<Report> after(ReportSort sort, Object lastKey, Long lastId) {
+        if (lastKey == null || lastId == null)
+            return null;
+        return (root, query, cb) -> switch (sort) {
+            case NEWEST, OLDEST -> keyset(cb, (Expression<LocalDateTime>) sort.key(root, cb),
+                    (LocalDateTime) lastKey, root.get("id"), lastId, sort.isDescending());
+            case MOST_VOTED -> keyset(cb, (Expression<Integer>) sort.key(root, cb),
+                    (Integer) lastKey, root.get("id"), lastId, sort.isDescending());
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate keyset(CriteriaBuilder cb, Expression<Y> key, Y lastKey,
+            Path<Long> id, Long lastId, boolean descending) {
+        if (descending) {
+            return cb.or(cb.lessThan(key, lastKey),
+                    cb.and(cb.equal(key, lastKey), cb.lessThan(id, lastId)));
+        }
+        return cb.or(cb.greaterThan(key, lastKey),
+                cb.and(cb.equal(key, lastKey), cb.greaterThan(id, lastId)));
+    }
+}
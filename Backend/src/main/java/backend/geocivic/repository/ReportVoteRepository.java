@@ -7,5 +7,7 @@ import java.util.Optional;
 public interface ReportVoteRepository extends JpaRepository<ReportVote, Long> {
     Optional<ReportVote> findByReportIdAndUserId(Long reportId, Long userId);
 
+    boolean existsByReportIdAndUserId(Long reportId, Long userId);
+
     Long countByReportId(Long reportId);
 }
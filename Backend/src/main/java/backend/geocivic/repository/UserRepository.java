@@ -2,6 +2,9 @@ package backend.geocivic.repository;
 
 import backend.geocivic.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,4 +12,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     List<User> findByRole(String role);
+
+    @Query("select u.civicCoins from User u where u.id = :id")
+    Integer findCivicCoinsById(@Param("id") Long id);
+
+    // ── Coin balance: conditional single-row UPDATEs, no read-modify-write ────
+    @Modifying
+    @Query("update User u set u.civicCoins = coalesce(u.civicCoins, 0) + :amount where u.id = :id")
+    int creditCoins(@Param("id") Long id, @Param("amount") int amount);
+
+    @Modifying
+    @Query("update User u set u.civicCoins = u.civicCoins - :amount where u.id = :id and u.civicCoins >= :amount")
+    int debitCoins(@Param("id") Long id, @Param("amount") int amount);
 }
@@ -1,24 +1,52 @@
 package backend.geocivic.service;
 
+import backend.geocivic.util.CircuitBreaker;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
  * AiClient — the ONLY class that communicates with the external LLM API.
  *
  * Design decisions:
- * – Uses RestTemplate (already on the classpath via spring-boot-starter-web).
+ * – One shared java.net.http.HttpClient, which keeps connections to the
+ * provider alive and reuses them (HTTP/2 where offered), with a connect
+ * timeout and a per-request timeout ({@code ai.http.*}), so a slow provider
+ * can hold a request for at most that long before the chatbot falls back.
+ * – A {@link CircuitBreaker} ({@code ai.breaker.*}): after repeated failures
+ * calls are refused immediately (ChatService then answers from its rules)
+ * and, once the open period has passed, a single probe call decides whether
+ * the provider is back.
  * – API key is injected from application.properties — NEVER hardcoded here.
  * – Accepts a pre-built list of message objects so ChatService controls the
  * prompt.
  * – Returns only the assistant's reply text; JSON parsing stays here.
+ * – {@link #chatStream} asks for {@code "stream": true} and hands each text
+ * delta to a listener as its SSE line arrives, so the first words can be shown
+ * long before the completion is finished. A stream that goes quiet for
+ * {@code ai.http.stream-idle-timeout-ms} is cancelled.
  *
  * To switch AI providers (e.g. OpenAI → Gemini), change only this file
  * and the two properties in application.properties.
@@ -40,7 +68,43 @@ public class AiClient {
     @Value("${ai.max.tokens:500}")
     private int maxTokens;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final CircuitBreaker breaker;
+    private final long streamIdleTimeoutMs;
+    /** Cancels streams that stopped sending; only ever runs short checks. */
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "ai-stream-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Receives reply text as it is generated. */
+    @FunctionalInterface
+    public interface TokenListener {
+        void onToken(String text) throws IOException;
+    }
+
+    /** A streamed reply; {@code complete} is false if the stream broke off part-way. */
+    public record Streamed(String text, boolean complete) {
+    }
+
+    public AiClient(ObjectMapper objectMapper,
+            @Value("${ai.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${ai.http.request-timeout-ms:20000}") long requestTimeoutMs,
+            @Value("${ai.http.stream-idle-timeout-ms:15000}") long streamIdleTimeoutMs,
+            @Value("${ai.breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${ai.breaker.open-seconds:30}") long openSeconds) {
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.breaker = new CircuitBreaker("ai", failureThreshold, openSeconds * 1000);
+        this.streamIdleTimeoutMs = streamIdleTimeoutMs;
+    }
 
     /**
      * Calls the external LLM API with the given message list.
@@ -49,46 +113,152 @@ public class AiClient {
      *                 "content" keys.
      *                 Example: [{"role":"system","content":"..."},
      *                 {"role":"user","content":"..."}]
-     * @return The assistant's reply text, trimmed and ready to display.
+     * @return The assistant's reply text, trimmed and ready to display, or
+     *         null if the AI is unavailable (the call failed or timed out, or
+     *         the circuit breaker is open).
      */
-    @SuppressWarnings("unchecked")
     public String chat(List<Map<String, String>> messages) {
+        CircuitBreaker.Permit permit = breaker.tryAcquire();
+        if (permit == null) {
+            log.debug("AiClient: circuit open, skipping AI call");
+            return null;
+        }
 
-        // ── 1. Build HTTP headers ─────────────────────────────────────────────
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey); // Authorization: Bearer <key>
-
-        // ── 2. Build request body (OpenAI-compatible format) ──────────────────
-        Map<String, Object> body = Map.of(
-                "model", model,
-                "messages", messages,
-                "max_tokens", maxTokens,
-                "temperature", 0.7 // balanced: factual but conversational
-        );
+        boolean success = false;
+        try {
+            HttpResponse<String> response = httpClient.send(request(messages, false),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
+            if (response.statusCode() != 200) {
+                log.warn("AiClient: unexpected response status={}", response.statusCode());
+                return null;
+            }
+            JsonNode content = objectMapper.readTree(response.body())
+                    .path("choices").path(0).path("message").path("content");
+            if (!content.isTextual()) {
+                log.warn("AiClient: response has no reply text");
+                return null;
+            }
+            success = true;
+            return content.asText().trim();
 
-        // ── 3. Send POST and parse response ───────────────────────────────────
-        try {
-            ResponseEntity<Map> response = restTemplate.postForEntity(apiUrl, request, Map.class);
+        } catch (IOException ex) {
+            log.warn("AiClient: error calling AI API: {}", ex.toString());
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (success)
+                breaker.onSuccess(permit);
+            else
+                breaker.onFailure(permit);
+        }
+    }
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                List<Map<String, Object>> choices = (List<Map<String, Object>>) response.getBody().get("choices");
+    /**
+     * Streaming variant of {@link #chat}: each piece of reply text is passed to
+     * {@code listener} as soon as the provider sends it.
+     *
+     * @return the whole text streamed, or null if the AI produced nothing (it
+     *         is unavailable, failed or timed out before the first token), so
+     *         the caller can still fall back. If the listener throws (the
+     *         browser went away) the provider stream is cancelled and the text
+     *         so far is returned as incomplete.
+     */
+    public Streamed chatStream(List<Map<String, String>> messages, TokenListener listener) {
+        CircuitBreaker.Permit permit = breaker.tryAcquire();
+        if (permit == null) {
+            log.debug("AiClient: circuit open, skipping AI call");
+            return null;
+        }
 
-                if (choices != null && !choices.isEmpty()) {
-                    Map<String, Object> firstChoice = choices.get(0);
-                    Map<String, String> messageBlock = (Map<String, String>) firstChoice.get("message");
-                    return messageBlock.getOrDefault("content", "").trim();
+        StringBuilder text = new StringBuilder();
+        boolean providerOk = false;
+        boolean complete = false;
+        long started = System.nanoTime();
+        try {
+            HttpResponse<Stream<String>> response = httpClient.send(request(messages, true),
+                    HttpResponse.BodyHandlers.ofLines());
+            try (Stream<String> lines = response.body()) {
+                if (response.statusCode() != 200) {
+                    log.warn("AiClient: unexpected response status={}", response.statusCode());
+                    return null;
+                }
+                AtomicLong lastActivity = new AtomicLong(System.nanoTime());
+                ScheduledFuture<?> idleCheck = watchdog.scheduleWithFixedDelay(() -> {
+                    if (System.nanoTime() - lastActivity.get() > TimeUnit.MILLISECONDS.toNanos(streamIdleTimeoutMs))
+                        lines.close(); // unblocks the reader below with end-of-stream
+                }, 1, 1, TimeUnit.SECONDS);
+                try {
+                    Iterator<String> it = lines.iterator();
+                    while (!complete && it.hasNext()) {
+                        String line = it.next();
+                        lastActivity.set(System.nanoTime());
+                        // Server-sent events: "data: {chunk}" lines, ending with "data: [DONE]"
+                        if (!line.startsWith("data:"))
+                            continue;
+                        String data = line.substring(5).trim();
+                        if (data.equals("[DONE]")) {
+                            complete = true;
+                            break;
+                        }
+                        JsonNode choice = objectMapper.readTree(data).path("choices").path(0);
+                        String delta = choice.path("delta").path("content").asText("");
+                        if (!delta.isEmpty()) {
+                            if (text.isEmpty())
+                                log.debug("AiClient: first token after {} ms", (System.nanoTime() - started) / 1_000_000);
+                            text.append(delta);
+                            try {
+                                listener.onToken(delta);
+                            } catch (IOException | RuntimeException e) {
+                                providerOk = true; // our client left; the provider was fine
+                                return new Streamed(text.toString(), false);
+                            }
+                        }
+                        if (choice.hasNonNull("finish_reason"))
+                            complete = true;
+                    }
+                } finally {
+                    idleCheck.cancel(false);
                 }
             }
+            if (!complete)
+                log.warn("AiClient: stream ended before the reply was finished ({} chars)", text.length());
+            providerOk = complete;
+        } catch (IOException | UncheckedIOException ex) {
+            log.warn("AiClient: error streaming from AI API: {}", ex.toString());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (providerOk)
+                breaker.onSuccess(permit);
+            else
+                breaker.onFailure(permit);
+        }
+        return text.isEmpty() ? null : new Streamed(text.toString(), complete);
+    }
 
-            log.warn("AiClient: unexpected response status={}", response.getStatusCode());
-            return "I'm having trouble connecting to the AI service right now. Please try again.";
+    public CircuitBreaker.Snapshot health() {
+        return breaker.snapshot();
+    }
 
-        } catch (Exception ex) {
-            log.error("AiClient: error calling AI API", ex);
-            return "Sorry, the AI assistant is temporarily unavailable. Please try again later.";
-        }
+    private HttpRequest request(List<Map<String, String>> messages, boolean stream) throws IOException {
+        // OpenAI-compatible request body
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", model);
+        body.put("messages", messages);
+        body.put("max_tokens", maxTokens);
+        body.put("temperature", 0.7); // balanced: factual but conversational
+        if (stream)
+            body.put("stream", true);
+
+        return HttpRequest.newBuilder(URI.create(apiUrl))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Accept", stream ? "text/event-stream" : "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
     }
 }
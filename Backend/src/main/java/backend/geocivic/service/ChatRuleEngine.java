@@ -0,0 +1,224 @@
+package backend.geocivic.service;
+
+import backend.geocivic.util.AhoCorasick;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * ChatRuleEngine — GeoBot's canned replies for when the AI is unavailable.
+ *
+ * The rules live in a JSON table ({@code chat.rules.location}, by default
+ * chat-rules.json on the classpath), checked in order; the first rule that
+ * matches the lower-cased message wins, else the fallback reply is used. A
+ * rule matches on any of:
+ * – "contains": the phrase occurs anywhere in the message,
+ * – "words": the phrase occurs as a whole word,
+ * – "sequences": a "first" phrase occurs and a "then" phrase starts after it,
+ * – "exact": the whole message equals the phrase.
+ *
+ * All phrases of all rules are compiled into one {@link AhoCorasick}
+ * automaton, so a message is scanned once whatever the size of the table.
+ * {@link #reload()} swaps in a freshly compiled table; a table that fails to
+ * load or validate leaves the current one in place.
+ */
+@Component
+public class ChatRuleEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatRuleEngine.class);
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String location;
+
+    private volatile RuleTable table;
+
+    public ChatRuleEngine(ResourceLoader resourceLoader, ObjectMapper objectMapper,
+            @Value("${chat.rules.location:classpath:chat-rules.json}") String location) throws IOException {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.location = location;
+        this.table = load();
+        log.info("ChatRuleEngine: loaded {} rules from {}", table.size(), location);
+    }
+
+    /** The reply of the first matching rule, or the fallback reply. */
+    public String reply(String message) {
+        return table.reply(message);
+    }
+
+    /**
+     * Re-reads the rule table and returns its number of rules.
+     *
+     * @throws IOException              if the table cannot be read.
+     * @throws IllegalArgumentException if it is malformed.
+     */
+    public synchronized int reload() throws IOException {
+        RuleTable loaded = load();
+        table = loaded;
+        log.info("ChatRuleEngine: reloaded {} rules from {}", loaded.size(), location);
+        return loaded.size();
+    }
+
+    // ── Table format ──────────────────────────────────────────────────────────
+
+    private record TableSpec(List<RuleSpec> rules, List<String> fallback) {
+    }
+
+    private record RuleSpec(String name, List<String> contains, List<String> words,
+            List<SequenceSpec> sequences, List<String> exact, List<String> reply) {
+    }
+
+    private record SequenceSpec(List<String> first, List<String> then) {
+    }
+
+    private RuleTable load() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        TableSpec spec;
+        try (InputStream in = resource.getInputStream()) {
+            spec = objectMapper.readValue(in, TableSpec.class);
+        }
+        return new RuleTable(spec);
+    }
+
+    // ── Compiled table ────────────────────────────────────────────────────────
+
+    private static final int CONTAINS = 0, WORD = 1, FIRST = 2, THEN = 3;
+
+    /** One way a phrase takes part in a rule. */
+    private record Use(int kind, int rule, int sequence) {
+    }
+
+    private static final class RuleTable {
+        private final String[] replies;
+        private final String fallback;
+        private final AhoCorasick matcher;
+        /** Indexed like the matcher's patterns. */
+        private final Use[][] uses;
+        private final Map<String, Integer> exact = new HashMap<>();
+        private final int[] sequenceRule;
+
+        RuleTable(TableSpec spec) {
+            if (spec == null || spec.rules() == null || spec.rules().isEmpty())
+                throw new IllegalArgumentException("Rule table has no rules.");
+            if (spec.fallback() == null || spec.fallback().isEmpty())
+                throw new IllegalArgumentException("Rule table has no fallback reply.");
+
+            Map<String, List<Use>> phrases = new LinkedHashMap<>();
+            List<Integer> sequences = new ArrayList<>();
+            replies = new String[spec.rules().size()];
+            for (int r = 0; r < replies.length; r++) {
+                RuleSpec rule = spec.rules().get(r);
+                String name = rule.name() != null ? rule.name() : "#" + (r + 1);
+                if (rule.reply() == null || rule.reply().isEmpty())
+                    throw new IllegalArgumentException("Rule " + name + " has no reply.");
+                replies[r] = String.join("\n", rule.reply());
+
+                if (orEmpty(rule.contains()).isEmpty() && orEmpty(rule.words()).isEmpty()
+                        && orEmpty(rule.sequences()).isEmpty() && orEmpty(rule.exact()).isEmpty())
+                    throw new IllegalArgumentException("Rule " + name + " matches nothing.");
+                addAll(phrases, rule.contains(), new Use(CONTAINS, r, -1), name);
+                addAll(phrases, rule.words(), new Use(WORD, r, -1), name);
+                for (SequenceSpec sequence : orEmpty(rule.sequences())) {
+                    if (sequence.first() == null || sequence.first().isEmpty()
+                            || sequence.then() == null || sequence.then().isEmpty())
+                        throw new IllegalArgumentException("Rule " + name + " has an incomplete sequence.");
+                    int s = sequences.size();
+                    sequences.add(r);
+                    addAll(phrases, sequence.first(), new Use(FIRST, r, s), name);
+                    addAll(phrases, sequence.then(), new Use(THEN, r, s), name);
+                }
+                for (String phrase : orEmpty(rule.exact()))
+                    exact.putIfAbsent(normalize(phrase, name), r);
+            }
+            fallback = String.join("\n", spec.fallback());
+            sequenceRule = sequences.stream().mapToInt(Integer::intValue).toArray();
+            matcher = new AhoCorasick(new ArrayList<>(phrases.keySet()));
+            uses = phrases.values().stream().map(list -> list.toArray(new Use[0])).toArray(Use[][]::new);
+        }
+
+        int size() {
+            return replies.length;
+        }
+
+        String reply(String message) {
+            String m = message.toLowerCase(Locale.ROOT);
+            Scan scan = new Scan(m, exact.getOrDefault(m, Integer.MAX_VALUE));
+            matcher.scan(m, scan);
+            int best = scan.best;
+            for (int s = 0; s < sequenceRule.length && sequenceRule[s] < best; s++) {
+                // "first" ends before "then" starts, as in .*(first).*(then).*
+                if (scan.thenStart[s] >= scan.firstEnd[s])
+                    best = sequenceRule[s];
+            }
+            return best == Integer.MAX_VALUE ? fallback : replies[best];
+        }
+
+        /** Per-message state: the best rule so far and sequence positions. */
+        private final class Scan implements AhoCorasick.MatchHandler {
+            final String text;
+            int best;
+            final int[] firstEnd = new int[sequenceRule.length];
+            final int[] thenStart = new int[sequenceRule.length];
+
+            Scan(String text, int best) {
+                this.text = text;
+                this.best = best;
+                Arrays.fill(firstEnd, Integer.MAX_VALUE);
+                Arrays.fill(thenStart, -1);
+            }
+
+            @Override
+            public void onMatch(int pattern, int start, int end) {
+                for (Use use : uses[pattern]) {
+                    if (use.rule() >= best)
+                        continue;
+                    switch (use.kind()) {
+                        case CONTAINS -> best = use.rule();
+                        case WORD -> {
+                            if (isWordBoundary(text, start) && isWordBoundary(text, end))
+                                best = use.rule();
+                        }
+                        case FIRST -> firstEnd[use.sequence()] = Math.min(firstEnd[use.sequence()], end);
+                        case THEN -> thenStart[use.sequence()] = Math.max(thenStart[use.sequence()], start);
+                        default -> throw new IllegalStateException();
+                    }
+                }
+            }
+        }
+
+        private static void addAll(Map<String, List<Use>> phrases, List<String> list, Use use, String rule) {
+            for (String phrase : orEmpty(list))
+                phrases.computeIfAbsent(normalize(phrase, rule), p -> new ArrayList<>()).add(use);
+        }
+
+        private static String normalize(String phrase, String rule) {
+            if (phrase == null || phrase.isEmpty())
+                throw new IllegalArgumentException("Rule " + rule + " has an empty phrase.");
+            return phrase.toLowerCase(Locale.ROOT);
+        }
+
+        private static <T> List<T> orEmpty(List<T> list) {
+            return list != null ? list : List.of();
+        }
+
+        /** Regex \b: a word character on exactly one side of {@code index}. */
+        private static boolean isWordBoundary(String text, int index) {
+            boolean before = index > 0 && isWordChar(text.charAt(index - 1));
+            boolean after = index < text.length() && isWordChar(text.charAt(index));
+            return before != after;
+        }
+
+        private static boolean isWordChar(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+        }
+    }
+}
@@ -2,13 +2,18 @@ package backend.geocivic.service;
 
 import backend.geocivic.dto.ChatRequest;
 import backend.geocivic.model.Report;
-import backend.geocivic.repository.ReportRepository;
+import backend.geocivic.util.BoundedCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.text.Normalizer;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -17,12 +22,20 @@ import java.util.regex.Pattern;
  *
  * Responsibilities:
  * 1. Detect whether the citizen is asking about a specific ticket.
- * 2. If yes → fetch the ticket from MySQL via ReportRepository,
+ * 2. If yes → fetch the ticket via ReportCache (backed by MySQL),
  * validate ownership, and build a structured context block.
  * 3. Build a system prompt that explains the GeoCivic workflow.
  * 4. Combine system prompt + (optional context) + user message.
  * 5. Delegate the final API call to AiClient.
  *
+ * AI replies are cached (LRU + TTL, {@code chat.cache.*}): general questions
+ * by their normalised text, since the answer is the same for everyone, and
+ * ticket questions additionally by the ticket's current version, so any
+ * change to the ticket makes its cached answers unreachable. The system
+ * prompt is a constant, so the in-memory cache only ever holds replies to the
+ * running prompt; {@link #invalidateReplies()} (POST /api/chat/cache/clear)
+ * drops everything on demand.
+ *
  * The database is NEVER exposed to the AI directly.
  * Only a curated, plain-text context block is passed.
  */
@@ -38,12 +51,39 @@ public class ChatService {
 
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a");
 
-    private final ReportRepository reportRepository;
-    private final AiClient aiClient;
+    // Case, punctuation and spacing don't change what is being asked
+    private static final Pattern PUNCTUATION = Pattern.compile("[\\p{P}\\p{S}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    /** Longer messages are effectively unique; caching them only churns the LRU. */
+    private static final int MAX_CACHEABLE_LENGTH = 300;
 
-    public ChatService(ReportRepository reportRepository, AiClient aiClient) {
-        this.reportRepository = reportRepository;
+    private final ReportCache reportCache;
+    private final AiClient aiClient;
+    private final ChatRuleEngine chatRuleEngine;
+    private final ResourceVersions resourceVersions;
+    private final BoundedCache<String, String> replyCache;
+
+    public ChatService(ReportCache reportCache, AiClient aiClient, ChatRuleEngine chatRuleEngine,
+            ResourceVersions resourceVersions,
+            @Value("${chat.cache.max-size:500}") int maxSize,
+            @Value("${chat.cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.reportCache = reportCache;
         this.aiClient = aiClient;
+        this.chatRuleEngine = chatRuleEngine;
+        this.resourceVersions = resourceVersions;
+        this.replyCache = new BoundedCache<>("chat-replies", maxSize, ttlSeconds * 1000);
+    }
+
+    public BoundedCache.Stats replyCacheStats() {
+        return replyCache.stats();
+    }
+
+    /** Drops every cached AI reply; returns how many there were. */
+    public int invalidateReplies() {
+        int size = replyCache.stats().size();
+        replyCache.invalidateAll();
+        log.info("ChatService: cleared {} cached replies", size);
+        return size;
     }
 
     /**
@@ -52,6 +92,42 @@ public class ChatService {
      * Tries AI first; falls back to rule-based engine if AI is unavailable.
      */
     public String processMessage(ChatRequest chatRequest) {
+        return respond(chatRequest, messages -> {
+            String reply = tryAi(messages);
+            return reply != null ? new AiReply(reply, true) : null;
+        });
+    }
+
+    /**
+     * Streaming variant of {@link #processMessage} for POST /api/chat/stream.
+     * AI text goes to {@code listener} as it is generated; a reply that does
+     * not come from a live AI call (a refusal, a cached answer, the ticket or
+     * rule-based fallback) goes in one piece. The fallback still applies when
+     * the AI fails before its first token.
+     *
+     * @return false if the AI stream broke off part-way through the reply.
+     */
+    public boolean streamMessage(ChatRequest chatRequest, AiClient.TokenListener listener) throws IOException {
+        boolean[] streamed = { false };
+        boolean[] complete = { true };
+        String reply = respond(chatRequest, messages -> {
+            AiClient.Streamed result = tryAiStream(messages, listener);
+            if (result == null)
+                return null;
+            streamed[0] = true;
+            complete[0] = result.complete();
+            return new AiReply(result.text(), result.complete());
+        });
+        if (!streamed[0])
+            listener.onToken(reply);
+        return complete[0];
+    }
+
+    /** A reply produced by the AI; a truncated one is shown but not cached. */
+    private record AiReply(String text, boolean cacheable) {
+    }
+
+    private String respond(ChatRequest chatRequest, Function<List<Map<String, String>>, AiReply> ai) {
 
         String userMessage = chatRequest.getMessage();
         Long userId = chatRequest.getUserId();
@@ -69,16 +145,15 @@ public class ChatService {
                         "Please check the ticket number and try again.";
             }
             // Try AI first, fall back to formatted ticket reply
-            List<Map<String, String>> messages = buildMessages(userMessage, ticketContext);
-            String aiReply = tryAi(messages);
+            String cacheKey = cacheKey("ticket:" + resourceVersions.reportETag(ticketId) + ":", userMessage);
+            String aiReply = cachedAi(cacheKey, () -> buildMessages(userMessage, ticketContext), ai);
             if (aiReply != null)
                 return aiReply;
             return buildFormattedTicketReply(ticketId, userId);
         }
 
         // ── Step 3: Try AI for general questions ──────────────────────────────
-        List<Map<String, String>> messages = buildMessages(userMessage, null);
-        String aiReply = tryAi(messages);
+        String aiReply = cachedAi(cacheKey("general:", userMessage), () -> buildMessages(userMessage, null), ai);
         if (aiReply != null)
             return aiReply;
 
@@ -86,195 +161,76 @@ public class ChatService {
         return ruleBasedReply(userMessage);
     }
 
+    /**
+     * AI reply from the cache, or from the AI (cached on success). A null key
+     * bypasses the cache; failures are never cached so the AI is retried.
+     */
+    private String cachedAi(String cacheKey, Supplier<List<Map<String, String>>> messages,
+            Function<List<Map<String, String>>, AiReply> ai) {
+        if (cacheKey == null) {
+            AiReply reply = ai.apply(messages.get());
+            return reply != null ? reply.text() : null;
+        }
+        AiReply[] uncached = new AiReply[1];
+        String reply = replyCache.get(cacheKey, key -> {
+            AiReply loaded = ai.apply(messages.get());
+            if (loaded == null || loaded.cacheable())
+                return loaded != null ? loaded.text() : null;
+            uncached[0] = loaded;
+            return null;
+        });
+        return reply != null ? reply : uncached[0] != null ? uncached[0].text() : null;
+    }
+
+    /** Scope + normalised message, or null if the message is not worth caching. */
+    private static String cacheKey(String scope, String message) {
+        if (message == null || message.length() > MAX_CACHEABLE_LENGTH)
+            return null;
+        String folded = Normalizer.normalize(message, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        folded = WHITESPACE.matcher(PUNCTUATION.matcher(folded).replaceAll(" ")).replaceAll(" ").trim();
+        return folded.isEmpty() ? null : scope + folded;
+    }
+
     /**
      * Wraps the AI call — returns null instead of throwing so callers can fall back
      * gracefully.
      */
     private String tryAi(List<Map<String, String>> messages) {
         try {
+            // Null when the AI failed, timed out or its circuit breaker is open
             String reply = aiClient.chat(messages);
-            // Treat known fallback strings as failures so rule-based kicks in
-            if (reply == null ||
-                    reply.contains("temporarily unavailable") ||
-                    reply.contains("trouble connecting")) {
-                return null;
-            }
-            return reply;
+            return reply == null || reply.isBlank() ? null : reply;
         } catch (Exception e) {
             log.warn("ChatService: AI call failed, using rule-based fallback. Reason: {}", e.getMessage());
             return null;
         }
     }
 
+    /** Streaming counterpart of {@link #tryAi}: null means nothing was streamed. */
+    private AiClient.Streamed tryAiStream(List<Map<String, String>> messages, AiClient.TokenListener listener) {
+        try {
+            return aiClient.chatStream(messages, listener);
+        } catch (Exception e) {
+            log.warn("ChatService: AI stream failed, using rule-based fallback. Reason: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Rule-based reply engine — covers the most common citizen queries.
-     * Keyword matching is case-insensitive. Add more rules here as needed.
+     * The rules are data (chat-rules.json); see {@link ChatRuleEngine}.
      */
     private String ruleBasedReply(String message) {
-        String m = message.toLowerCase();
-
-        // ── Greetings ─────────────────────────────────────────────────────────
-        if (m.matches(".*(\\bhi\\b|\\bhello\\b|\\bhey\\b|\\bhola\\b|\\bvanakam\\b).*")) {
-            return "Hello! 👋 I'm **GeoBot**, your GeoCivic assistant.\n\n" +
-                    "I can help you with:\n" +
-                    "• Checking your complaint/ticket status\n" +
-                    "• Understanding how GeoCivic works\n" +
-                    "• Civic Coins & Rewards\n" +
-                    "• Reporting an issue\n\n" +
-                    "Just ask me anything, or say **\"ticket #12\"** to check a specific complaint!";
-        }
-
-        // ── How to use the platform / general overview ────────────────────────
-        if (m.contains("how to use") || m.contains("how does this work") ||
-                m.contains("how does geocivic work") || m.contains("what is geocivic") ||
-                m.contains("explain this") || m.contains("guide me") ||
-                m.contains("get started") || m.contains("how to start") ||
-                m.contains("what can i do") || m.contains("how to use this") ||
-                m.contains("explain") || m.contains("how it works") ||
-                m.contains("how this works") || m.contains("how does it work") ||
-                m.contains("tell me about") || m.contains("overview") ||
-                m.contains("about this") || m.contains("about geocivic") ||
-                m.contains("what does this") || m.contains("what does geocivic") ||
-                m.contains("how the website") || m.contains("how the app") ||
-                m.contains("how the platform") || m.contains("generally") ||
-                m.contains("in simple") || m.contains("brief") ||
-                m.contains("steps") || m.contains("workflow") ||
-                m.contains("process") || m.contains("how does the website") ||
-                m.equals("explain") || m.equals("overview") || m.equals("guide")) {
-            return "🏙️ **Here's how GeoCivic works — in simple steps:**\n\n" +
-                    "**Step 1 — You report the problem** 📸\n" +
-                    "Take a photo of the issue (pothole, broken light, garbage, etc.) and submit it via **Add Report**. Your location is saved automatically.\n\n"
-                    +
-                    "**Step 2 — Admin reviews & assigns** 👨‍💼\n" +
-                    "An admin looks at your report and assigns it to the right staff member to handle it.\n\n" +
-                    "**Step 3 — Staff fixes it & uploads proof** 🔧\n" +
-                    "The staff member works on the issue and uploads a photo as proof that it's been resolved.\n\n" +
-                    "**Step 4 — You go there & verify** 📍\n" +
-                    "Once it's marked resolved, you visit the actual location. The app checks if you're physically nearby (**geofencing**). Only then can you click **Verify** to confirm the fix.\n\n"
-                    +
-                    "**Step 5 — Earn Civic Coins** 🪙\n" +
-                    "You earn coins for reporting and verifying. Collect them for rewards!\n\n" +
-                    "Ask me *\"how to report\"*, *\"check ticket status\"*, or *\"what are civic coins\"* to learn more!";
-        }
-
-        // ── How to file / submit a report ─────────────────────────────────────
-        if (m.matches(".*(file|submit|raise|create|report|add).*(complaint|report|issue|problem|ticket).*") ||
-                m.contains("how to report") || m.contains("how do i report")) {
-            return "📝 **How to File a Complaint on GeoCivic:**\n\n" +
-                    "1. Go to **Add Report** from the sidebar.\n" +
-                    "2. Enter a title and choose the **category** (Pothole, Garbage, etc.).\n" +
-                    "3. Upload a **geo-tagged photo** of the issue.\n" +
-                    "4. Your GPS location is captured automatically.\n" +
-                    "5. Submit — your complaint is instantly logged!\n\n" +
-                    "You can track it anytime from **My Reports**.";
-        }
-
-        // ── Ticket / complaint status ─────────────────────────────────────────
-        if (m.matches(".*(status|update|progress|check).*(ticket|complaint|report|issue).*") ||
-                m.matches(".*(ticket|complaint|report|issue).*(status|update|progress).*")) {
-            return "🔍 **To check your complaint status**, say something like:\n\n" +
-                    "  **\"What is the status of ticket #12?\"**\n\n" +
-                    "Here's what each status means:\n" +
-                    "🔴 **Open** — Received, waiting for assignment.\n" +
-                    "🟠 **In Progress** — Authorities are working on it.\n" +
-                    "🟠 **Pending Verification** — Repair done! Please verify physically using geofencing.\n" +
-                    "🟢 **Resolved** — Verified and closed. Thank you!";
-        }
-
-        // ── Geofencing ────────────────────────────────────────────────────────
-        if (m.contains("geofenc") || m.contains("geo fence") ||
-                m.contains("physical verif") || m.contains("verify location") ||
-                m.contains("how to verify") || m.contains("verify repair")) {
-            return "📍 **How Geofencing Verification Works:**\n\n" +
-                    "When authorities complete a repair, your ticket moves to **🟠 Pending Verification**.\n\n" +
-                    "To close it:\n" +
-                    "1. Physically visit the repaired location.\n" +
-                    "2. Open the GeoCivic app at that spot.\n" +
-                    "3. Tap **Verify Repair** — the app checks your GPS against the complaint location.\n" +
-                    "4. Once confirmed, the ticket turns **🟢 Resolved** and you earn Civic Coins!\n\n" +
-                    "This ensures repairs are actually done before tickets close. 🏙️";
-        }
-
-        // ── Civic Coins ───────────────────────────────────────────────────────
-        if (m.contains("civic coin") || m.contains("coins") || m.contains("earn") ||
-                m.contains("reward") || m.contains("points") || m.contains("redeem")) {
-            return "🪙 **Civic Coins — Your Reward for Being a Good Citizen!**\n\n" +
-                    "You earn Civic Coins by:\n" +
-                    "• ✅ **Filing a complaint** — coins on submission\n" +
-                    "• 👍 **Getting upvotes** on your report\n" +
-                    "• 🔍 **Verifying a repair** using geofencing\n\n" +
-                    "**Redeem coins** from the **Rewards** page for:\n" +
-                    "GeoCivic T-shirts, caps, water bottles, badges, and more!\n\n" +
-                    "Check your coin balance in the top bar. 🎁";
-        }
-
-        // ── Status meaning: open ──────────────────────────────────────────────
-        if (m.contains("red status") || m.contains("open status") || m.contains("what is open")) {
-            return "🔴 **Open Status** means your complaint has been successfully received by the system but has not yet been assigned to a staff member or authority.\n\nNo action is needed from you right now — you'll be notified once it's assigned.";
-        }
-
-        // ── Status meaning: in progress ───────────────────────────────────────
-        if (m.contains("orange status") || m.contains("in progress") || m.contains("progress status")) {
-            return "🟠 **In Progress / Pending Verification:**\n\n" +
-                    "• **In Progress** — Authorities are actively working on your complaint.\n" +
-                    "• **Pending Verification** — Work is complete! Please visit the location and verify using geofencing to close the ticket and earn Civic Coins.";
-        }
-
-        // ── Status meaning: resolved ──────────────────────────────────────────
-        if (m.contains("green status") || m.contains("resolved") || m.contains("closed status")) {
-            return "🟢 **Resolved** means your complaint has been fully addressed and you have physically verified the repair using geofencing.\n\nThank you for helping improve your community! 🏙️";
-        }
-
-        // ── Upvote ────────────────────────────────────────────────────────────
-        if (m.contains("upvote") || m.contains("vote") || m.contains("support report")) {
-            return "👍 **Upvoting a Report:**\n\nYou can upvote any public complaint to show it's a shared issue in your community. More upvotes = higher priority for authorities.\n\nYou also earn Civic Coins when your report gets upvoted!";
-        }
-
-        // ── Assigned agent ────────────────────────────────────────────────────
-        if (m.contains("agent") || m.contains("staff") || m.contains("assigned") || m.contains("who is handling")) {
-            return "👷 **Assigned Agent:**\n\nOnce your complaint is reviewed, it gets assigned to a staff member or authority agent.\nYou can see the assigned agent's name in your **Report Details** page.\n\nNot yet assigned? Your report is still **🔴 Open** — it will be picked up soon!";
-        }
-
-        // ── Notifications ─────────────────────────────────────────────────────
-        if (m.contains("notification") || m.contains("alert") || m.contains("update me")) {
-            return "🔔 **Notifications:**\n\nGeoCivic sends you notifications when:\n" +
-                    "• Your complaint is assigned to an agent\n" +
-                    "• The status changes (In Progress, Pending Verification, Resolved)\n" +
-                    "• Your report gets upvoted\n\n" +
-                    "Check the 🔔 bell icon in the top bar for all your notifications.";
-        }
-
-        // ── Help / what can you do ────────────────────────────────────────────
-        if (m.contains("help") || m.contains("what can you") || m.contains("what do you") || m.equals("?")) {
-            return "🤖 **I'm GeoBot! Here's what I can help with:**\n\n" +
-                    "• **Ticket status** — say \"ticket #12\" to check any complaint\n" +
-                    "• **How to file a complaint**\n" +
-                    "• **Understanding statuses** (Open, In Progress, etc.)\n" +
-                    "• **Geofencing verification** process\n" +
-                    "• **Civic Coins & Rewards**\n" +
-                    "• **Upvotes, agents, notifications**\n\n" +
-                    "Just type your question naturally! 💬";
-        }
-
-        // ── Thank you ─────────────────────────────────────────────────────────
-        if (m.matches(".*(thank|thanks|thx|ty|great|awesome|perfect|nice).*")) {
-            return "You're welcome! 😊 Happy to help. If you have any more questions about your complaints or GeoCivic, feel free to ask anytime!";
-        }
-
-        // ── Default fallback ──────────────────────────────────────────────────
-        return "I'm not sure I understood that. Here are some things I can help with:\n\n" +
-                "• Type **\"ticket #ID\"** to check a complaint status\n" +
-                "• Ask about **Civic Coins**, **geofencing**, or **how to file a report**\n" +
-                "• Type **\"help\"** to see everything I can do!\n\n" +
-                "I'm still learning, so try rephrasing if needed. 🤖";
+        return chatRuleEngine.reply(message);
     }
 
     /**
      * Builds a clean, formatted reply for ticket queries when AI is unavailable.
-     * Fetches fresh data from DB so the response is always accurate.
+     * Reads through ReportCache, which is evicted on every report write, so the
+     * response is always accurate.
      */
     private String buildFormattedTicketReply(Long ticketId, Long userId) {
-        Optional<Report> optional = reportRepository.findById(ticketId);
+        Optional<Report> optional = reportCache.get(ticketId);
         if (optional.isEmpty()) {
             return "I couldn't find ticket #" + ticketId + ". Please double-check the ticket number.";
         }
@@ -340,7 +296,7 @@ public class ChatService {
     }
 
     /**
-     * Fetches the report from MySQL and builds a plain-text context block.
+     * Fetches the report (via ReportCache) and builds a plain-text context block.
      *
      * Security rules enforced here:
      * – If the report doesn't exist, return null (caller sends a refusal message).
@@ -349,7 +305,7 @@ public class ChatService {
      */
     private String buildTicketContext(Long ticketId, Long requestingUserId) {
 
-        Optional<Report> optional = reportRepository.findById(ticketId);
+        Optional<Report> optional = reportCache.get(ticketId);
 
         if (optional.isEmpty()) {
             log.warn("ChatService: ticket #{} not found in database", ticketId);
@@ -0,0 +1,72 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.ChatRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ChatStreamService — sends GeoBot's reply to the browser over Server-Sent
+ * Events as it is generated (POST /api/chat/stream).
+ *
+ * Events:
+ * – "token" {"text": "..."} — the next piece of the reply, in order,
+ * – "done" {"complete": true|false} — the reply is over; false if the AI
+ * stream broke off part-way.
+ * Replies that don't come from a live AI call arrive as a single token.
+ *
+ * Each reply is produced on its own virtual thread, so the request thread is
+ * released immediately. If the browser disconnects the next send fails and the
+ * provider stream is cancelled.
+ */
+@Service
+public class ChatStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatStreamService.class);
+
+    private final ChatService chatService;
+    private final ExecutorService worker = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${chat.stream.timeout-ms:120000}")
+    private long timeoutMillis;
+
+    public ChatStreamService(ChatService chatService) {
+        this.chatService = chatService;
+    }
+
+    public SseEmitter stream(ChatRequest request) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        worker.execute(() -> {
+            try {
+                boolean complete = chatService.streamMessage(request,
+                        text -> emitter.send(SseEmitter.event().name("token")
+                                .data(Map.of("text", text), MediaType.APPLICATION_JSON)));
+                emitter.send(SseEmitter.event().name("done")
+                        .data(Map.of("complete", complete), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // The browser went away or the emitter timed out; nothing left to tell it
+                log.debug("ChatStream: userId={} stream ended early: {}", request.getUserId(), e.toString());
+                emitter.complete();
+            } catch (RuntimeException e) {
+                log.warn("ChatStream: userId={} failed", request.getUserId(), e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+    }
+}
@@ -0,0 +1,155 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.CursorPage;
+import backend.geocivic.model.CoinLedgerEntry;
+import backend.geocivic.model.User;
+import backend.geocivic.repository.CoinLedgerRepository;
+import backend.geocivic.repository.UserRepository;
+import backend.geocivic.util.AfterCommit;
+import backend.geocivic.util.Cursors;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * CoinLedgerService — every change to a citizen's civic coins.
+ *
+ * The balance on users.civic_coins is changed only by single conditional
+ * UPDATEs ("+ amount", or "- amount WHERE civic_coins >= amount"), so
+ * concurrent awards and redemptions can neither lose an update nor overdraw:
+ * the database serialises them on the row, with no application locks and no
+ * SELECT ... FOR UPDATE. In the same transaction an append-only entry is
+ * written to coin_ledger with the balance right after the movement, and the
+ * new balance is passed on to the {@link Leaderboard}.
+ */
+@Service
+public class CoinLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(CoinLedgerService.class);
+
+    public static final int DEFAULT_HISTORY_LIMIT = 20;
+    public static final int MAX_HISTORY_LIMIT = 100;
+
+    public enum Outcome {
+        OK, INSUFFICIENT_FUNDS, NOT_FOUND
+    }
+
+    /** The outcome and the user's balance afterwards (unchanged unless OK). */
+    public record CoinResult(Outcome outcome, int balance) {
+    }
+
+    private final UserRepository userRepository;
+    private final CoinLedgerRepository coinLedgerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Leaderboard leaderboard;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CoinLedgerService(UserRepository userRepository, CoinLedgerRepository coinLedgerRepository,
+            JdbcTemplate jdbcTemplate, Leaderboard leaderboard) {
+        this.userRepository = userRepository;
+        this.coinLedgerRepository = coinLedgerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Gives users who had coins before the ledger existed an opening entry, so
+     * every balance is explained by its history.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recordOpeningBalances() {
+        int opened = jdbcTemplate.update(
+                "insert into coin_ledger (user_id, amount, balance_after, reason, description, created_at) "
+                        + "select u.id, u.civic_coins, u.civic_coins, ?, 'Balance before the coin ledger', now() "
+                        + "from users u where u.civic_coins > 0 "
+                        + "and not exists (select 1 from coin_ledger l where l.user_id = u.id)",
+                CoinLedgerEntry.OPENING_BALANCE);
+        if (opened > 0)
+            log.info("CoinLedger: recorded opening balances for {} users", opened);
+    }
+
+    @Transactional
+    public CoinResult credit(Long userId, int amount, String reason, String description, Long reportId) {
+        if (amount <= 0)
+            throw new IllegalArgumentException("Amount must be positive.");
+        if (userRepository.creditCoins(userId, amount) == 0)
+            return new CoinResult(Outcome.NOT_FOUND, 0);
+        return new CoinResult(Outcome.OK, record(userId, amount, reason, description, reportId));
+    }
+
+    /** Takes coins only if the balance covers them; otherwise nothing changes. */
+    @Transactional
+    public CoinResult debit(Long userId, int amount, String reason, String description) {
+        if (amount <= 0)
+            throw new IllegalArgumentException("Amount must be positive.");
+        if (userRepository.debitCoins(userId, amount) == 0) {
+            Integer balance = userRepository.findCivicCoinsById(userId);
+            if (balance == null && !userRepository.existsById(userId))
+                return new CoinResult(Outcome.NOT_FOUND, 0);
+            return new CoinResult(Outcome.INSUFFICIENT_FUNDS, balance != null ? balance : 0);
+        }
+        return new CoinResult(Outcome.OK, record(userId, -amount, reason, description, null));
+    }
+
+    /**
+     * One page of the user's ledger, newest first.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public CursorPage<CoinLedgerEntry> history(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+        // One extra row tells whether another page exists without a COUNT query
+        PageRequest fetch = PageRequest.ofSize(pageSize + 1);
+
+        List<CoinLedgerEntry> rows = cursor == null || cursor.isBlank()
+                ? coinLedgerRepository.findByUserIdOrderByIdDesc(userId, fetch)
+                : coinLedgerRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, decodeCursor(cursor), fetch);
+
+        if (rows.size() <= pageSize)
+            return new CursorPage<>(rows, null);
+        List<CoinLedgerEntry> page = rows.subList(0, pageSize);
+        return new CursorPage<>(page, encodeCursor(page.get(pageSize - 1).getId()));
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /**
+     * Appends the ledger entry. The UPDATE above holds the user's row lock until
+     * commit, so the balance read here is exactly the one this movement produced.
+     * Refreshing (rather than querying the column) also updates a User already
+     * loaded in this request, so responses that embed it show the new balance.
+     */
+    private int record(Long userId, int amount, String reason, String description, Long reportId) {
+        User user = entityManager.find(User.class, userId);
+        entityManager.refresh(user);
+        int balanceAfter = user.getCivicCoins() != null ? user.getCivicCoins() : 0;
+        CoinLedgerEntry entry = coinLedgerRepository
+                .save(new CoinLedgerEntry(userId, amount, balanceAfter, reason, description, reportId));
+        // Only a committed balance may reach the board
+        AfterCommit.run(() -> leaderboard.coinsChanged(userId, balanceAfter, entry.getId()));
+        return balanceAfter;
+    }
+
+    private String encodeCursor(Long id) {
+        return Cursors.encode(id);
+    }
+
+    private Long decodeCursor(String cursor) {
+        try {
+            return Long.valueOf(Cursors.decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.NearbyReport;
+import backend.geocivic.dto.ReportText;
+import backend.geocivic.repository.ReportRepository;
+import backend.geocivic.util.TextSimilarity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * DuplicateReportDetector — spots a new submission that repeats an open report.
+ *
+ * A candidate must be:
+ * – within {@code reports.duplicate.radius-meters} of the new report,
+ * – in the same category and not yet Resolved,
+ * – created within the last {@code reports.duplicate.window-days} days,
+ * – textually similar (trigram similarity of title / title+description at
+ * least {@code reports.duplicate.min-similarity}).
+ *
+ * Candidates come from {@link ReportSpatialIndex}, so the check costs a few
+ * grid cells plus one primary-key lookup for the candidates' text, however
+ * many open reports exist.
+ */
+@Service
+public class DuplicateReportDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateReportDetector.class);
+
+    private static final int MAX_CANDIDATES = 10;
+
+    /** What createReport should do with a detected duplicate. */
+    public enum Action {
+        REJECT, UPVOTE
+    }
+
+    private final ReportSpatialIndex spatialIndex;
+    private final ReportRepository reportRepository;
+
+    @Value("${reports.duplicate.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reports.duplicate.radius-meters:75}")
+    private double radiusMeters;
+
+    @Value("${reports.duplicate.window-days:30}")
+    private int windowDays;
+
+    @Value("${reports.duplicate.min-similarity:0.3}")
+    private double minSimilarity;
+
+    @Value("${reports.duplicate.action:upvote}")
+    private String action;
+
+    public DuplicateReportDetector(ReportSpatialIndex spatialIndex, ReportRepository reportRepository) {
+        this.spatialIndex = spatialIndex;
+        this.reportRepository = reportRepository;
+    }
+
+    public Action getAction() {
+        return "reject".equalsIgnoreCase(action) ? Action.REJECT : Action.UPVOTE;
+    }
+
+    /**
+     * Returns the ID of the best matching open report, or empty when the
+     * submission looks new (or has no coordinates to compare).
+     */
+    public Optional<Long> findDuplicate(String category, Double latitude, Double longitude,
+            String title, String description) {
+        if (!enabled || latitude == null || longitude == null)
+            return Optional.empty();
+
+        LocalDateTime since = LocalDateTime.now().minusDays(windowDays);
+        List<NearbyReport> nearby = spatialIndex.nearest(latitude, longitude, radiusMeters, MAX_CANDIDATES,
+                r -> category.equalsIgnoreCase(r.getCategory())
+                        && !"Resolved".equals(r.getStatus())
+                        && r.getCreatedAt() != null && r.getCreatedAt().isAfter(since));
+        if (nearby.isEmpty())
+            return Optional.empty();
+
+        Map<Long, ReportText> texts = new HashMap<>();
+        for (ReportText text : reportRepository.findByIdIn(nearby.stream().map(NearbyReport::getId).toList())) {
+            texts.put(text.getId(), text);
+        }
+
+        String fullText = title + " " + (description != null ? description : "");
+        Long bestId = null;
+        double bestScore = minSimilarity;
+        // nearby is ordered by distance, so on equal scores the closest report wins
+        for (NearbyReport candidate : nearby) {
+            ReportText text = texts.get(candidate.getId());
+            if (text == null)
+                continue;
+            double score = Math.max(
+                    TextSimilarity.similarity(title, text.getTitle()),
+                    TextSimilarity.similarity(fullText,
+                            text.getTitle() + " " + (text.getDescription() != null ? text.getDescription() : "")));
+            if (score >= bestScore && (bestId == null || score > bestScore)) {
+                bestId = candidate.getId();
+                bestScore = score;
+            }
+        }
+
+        if (bestId != null)
+            log.info("DuplicateReportDetector: '{}' matches report #{} (score {})", title, bestId,
+                    String.format("%.2f", bestScore));
+        return Optional.ofNullable(bestId);
+    }
+}
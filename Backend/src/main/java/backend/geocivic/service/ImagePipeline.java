@@ -0,0 +1,378 @@
+package backend.geocivic.service;
+
+import backend.geocivic.repository.ReportRepository;
+import backend.geocivic.util.ExifReader;
+import backend.geocivic.util.ImageOrientation;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ImagePipeline — turns an uploaded report or proof photo into the copies
+ * the UI actually needs, off the request thread.
+ *
+ * For each photo it writes a small JPEG thumbnail (list cards) and a medium
+ * JPEG (detail pages). An original larger than {@code max-original} pixels is
+ * replaced by a copy scaled down to that size, stored through UploadStore
+ * under its own digest (a stored name never gets new content); the report is
+ * pointed at the copy and the old name released. The variant paths are then
+ * recorded on the report and the read models refreshed. Re-encoded
+ * images carry no metadata, so the EXIF orientation is applied to the pixels
+ * first and phone photos taken in portrait stay upright.
+ *
+ * Jobs run on a fixed pool with a bounded queue. When the queue is full an
+ * upload's job is dropped with a warning; the report keeps serving its
+ * original and is picked up by the backfill that runs at startup for every
+ * photo without variants. The backfill is fed from its own thread, at most
+ * one job per worker in flight, so it never fills the queue that uploads need
+ * and never drops anything however many photos it finds. Formats ImageIO
+ * cannot decode (HEIC, WebP) get their original as "variant" so they are not
+ * retried forever.
+ */
+@Service
+public class ImagePipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ImagePipeline.class);
+
+    /** Refuse to decode anything larger (decompression bombs). */
+    private static final long MAX_PIXELS = 100_000_000L;
+
+    public enum Kind {
+        PHOTO, PROOF
+    }
+
+    private final ReportRepository reportRepository;
+    private final ReportIndexer reportIndexer;
+    private final UploadStore uploadStore;
+    private final ThreadPoolExecutor executor;
+    /** Backfill jobs queued or running; keeps the queue free for uploads. */
+    private final Semaphore backfillSlots;
+    private volatile Thread backfiller;
+
+    @Value("${reports.images.thumb-size:320}")
+    private int thumbSize;
+
+    @Value("${reports.images.medium-size:1280}")
+    private int mediumSize;
+
+    @Value("${reports.images.max-original:2560}")
+    private int maxOriginal;
+
+    public ImagePipeline(ReportRepository reportRepository, ReportIndexer reportIndexer, UploadStore uploadStore,
+            @Value("${reports.images.workers:2}") int workers,
+            @Value("${reports.images.queue-size:200}") int queueSize) {
+        this.reportRepository = reportRepository;
+        this.reportIndexer = reportIndexer;
+        this.uploadStore = uploadStore;
+        AtomicInteger threadCount = new AtomicInteger();
+        int poolSize = Math.max(1, workers);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                task -> {
+                    Thread thread = new Thread(task, "image-pipeline-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.backfillSlots = new Semaphore(poolSize);
+    }
+
+    /** Queues variant generation for a photo that was just saved on the report. */
+    public void submit(Long reportId, Kind kind, String imagePath) {
+        try {
+            executor.execute(() -> process(reportId, kind, imagePath));
+        } catch (RejectedExecutionException e) {
+            log.warn("ImagePipeline: queue full, report {} {} keeps its original until the next backfill",
+                    reportId, kind);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Object[]> photos = reportRepository.findImagesWithoutVariants();
+        List<Object[]> proofs = reportRepository.findProofImagesWithoutVariants();
+        if (photos.isEmpty() && proofs.isEmpty())
+            return;
+        log.info("ImagePipeline: backfilling {} photos and {} proof photos without variants",
+                photos.size(), proofs.size());
+        backfiller = Thread.ofPlatform().name("image-backfill").daemon().start(() -> {
+            try {
+                feed(photos, Kind.PHOTO);
+                feed(proofs, Kind.PROOF);
+                log.info("ImagePipeline: backfill queued");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // shutting down; the rest waits for the next start
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Thread feeder = backfiller;
+        if (feeder != null)
+            feeder.interrupt();
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS))
+            executor.shutdownNow(); // unfinished photos are backfilled on the next start
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /** Hands the backfill rows to the pool as slots free up; blocks, never drops. */
+    private void feed(List<Object[]> rows, Kind kind) throws InterruptedException {
+        for (Object[] row : rows) {
+            Long reportId = (Long) row[0];
+            String imagePath = (String) row[1];
+            backfillSlots.acquire();
+            Runnable job = () -> {
+                try {
+                    process(reportId, kind, imagePath);
+                } finally {
+                    backfillSlots.release();
+                }
+            };
+            while (true) {
+                try {
+                    executor.execute(job);
+                    break;
+                } catch (RejectedExecutionException e) {
+                    if (executor.isShutdown()) {
+                        backfillSlots.release();
+                        return;
+                    }
+                    Thread.sleep(100); // a burst of uploads filled the queue; wait for it to drain
+                }
+            }
+        }
+    }
+
+    private void process(Long reportId, Kind kind, String imagePath) {
+        try {
+            Path original = UploadStore.resolve(imagePath);
+            if (original == null || !Files.isRegularFile(original)) {
+                log.warn("ImagePipeline: {} for report {} not found on disk", imagePath, reportId);
+                return;
+            }
+
+            String path = imagePath;
+            String thumbPath = imagePath;
+            String mediumPath = imagePath;
+            int updated = 0;
+            try {
+                Path existingThumb = original.resolveSibling(variantName(original, "thumb"));
+                Path existingMedium = original.resolveSibling(variantName(original, "medium"));
+                if (Files.isRegularFile(existingThumb) && Files.isRegularFile(existingMedium)) {
+                    // The same photo was uploaded before (UploadStore deduplicates by content)
+                    thumbPath = UploadStore.URL_PREFIX + existingThumb.getFileName();
+                    mediumPath = UploadStore.URL_PREFIX + existingMedium.getFileName();
+                } else {
+                    Decoded decoded = decode(original);
+                    if (decoded != null) {
+                        BufferedImage image = ImageOrientation.apply(decoded.image(), orientation(original));
+                        Path file = original;
+                        if (decoded.longestSide() > maxOriginal) {
+                            String shrunk = storeShrunk(original, image, decoded.format());
+                            if (shrunk != null) {
+                                path = shrunk;
+                                file = UploadStore.resolve(shrunk);
+                            }
+                        }
+                        thumbPath = UploadStore.URL_PREFIX + writeVariant(image, file, "thumb", thumbSize, 0.75f);
+                        mediumPath = UploadStore.URL_PREFIX + writeVariant(image, file, "medium", mediumSize, 0.82f);
+                    }
+                }
+
+                if (path.equals(imagePath)) {
+                    updated = kind == Kind.PHOTO
+                            ? reportRepository.setImageVariants(reportId, imagePath, thumbPath, mediumPath)
+                            : reportRepository.setProofImageVariants(reportId, imagePath, thumbPath, mediumPath);
+                } else {
+                    updated = kind == Kind.PHOTO
+                            ? reportRepository.replaceImage(reportId, imagePath, path, thumbPath, mediumPath)
+                            : reportRepository.replaceProofImage(reportId, imagePath, path, thumbPath, mediumPath);
+                }
+            } finally {
+                // The report now holds the copy instead of the original; if it moved on
+                // to another photo meanwhile (or this failed), the copy is not needed
+                if (!path.equals(imagePath))
+                    uploadStore.release(updated > 0 ? imagePath : path);
+            }
+            if (updated > 0) {
+                reportRepository.findById(reportId).ifPresent(reportIndexer::index);
+                reportIndexer.changed(reportId);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("ImagePipeline: could not process {} for report {}", imagePath, reportId, e);
+        }
+    }
+
+    private record Decoded(BufferedImage image, String format, int longestSide) {
+    }
+
+    /**
+     * Decodes the image, subsampling very large ones while reading so no more
+     * than roughly max-original pixels per side are ever held in memory.
+     * Returns null for formats ImageIO cannot read.
+     */
+    private Decoded decode(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null)
+                return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext())
+                return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    log.warn("ImagePipeline: {} is {}x{}, too large to decode", file, width, height);
+                    return null;
+                }
+                int longest = Math.max(width, height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / maxOriginal);
+                if (step > 1)
+                    param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage image = reader.read(0, param);
+                return new Decoded(image, reader.getFormatName().toLowerCase(Locale.ROOT), longest);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** EXIF orientation of the file; 1 (as stored) when it has none or can't be read. */
+    private static int orientation(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            ExifReader.Metadata metadata = ExifReader.read(in);
+            return metadata != null ? metadata.orientation() : 1;
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Stores a max-original copy of an oversized original, in the same format,
+     * as an upload of its own and returns its path (holding one reference), or
+     * null if the original is kept.
+     */
+    private String storeShrunk(Path original, BufferedImage image, String format) throws IOException {
+        if (!format.equals("jpeg") && !format.equals("png"))
+            return null; // e.g. animated GIFs would lose their frames
+        BufferedImage scaled = resize(image, maxOriginal, format.equals("png"));
+        Path tmp = Files.createTempFile(original.getParent(), "shrink-", ".tmp");
+        try {
+            if (format.equals("jpeg"))
+                writeJpeg(scaled, tmp, 0.85f);
+            else
+                ImageIO.write(scaled, "png", tmp.toFile());
+            return uploadStore.store(tmp);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Writes "<name>_<suffix>.jpg" next to the original and returns its file name. */
+    private String writeVariant(BufferedImage image, Path original, String suffix, int maxSide, float quality)
+            throws IOException {
+        String variantName = variantName(original, suffix);
+        Path target = original.resolveSibling(variantName);
+        Path tmp = Files.createTempFile(original.getParent(), suffix + "-", ".tmp");
+        try {
+            writeJpeg(resize(image, maxSide, false), tmp, quality);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return variantName;
+    }
+
+    private static String variantName(Path original, String suffix) {
+        String name = original.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return (dot > 0 ? name.substring(0, dot) : name) + "_" + suffix + ".jpg";
+    }
+
+    /**
+     * Scales so the longest side is at most {@code maxSide} (never up), halving
+     * first while far above the target so bilinear filtering stays smooth.
+     */
+    private static BufferedImage resize(BufferedImage src, int maxSide, boolean keepAlpha) {
+        double scale = Math.min(1.0, (double) maxSide / Math.max(src.getWidth(), src.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(src.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(src.getHeight() * scale));
+
+        BufferedImage current = src;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, keepAlpha);
+        }
+        if (current == src || current.getWidth() != targetWidth || current.getHeight() != targetHeight)
+            current = draw(current, targetWidth, targetHeight, keepAlpha);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage src, int width, int height, boolean keepAlpha) {
+        BufferedImage out = new BufferedImage(width, height,
+                keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            if (!keepAlpha) {
+                // JPEG has no alpha: flatten transparent PNGs onto white, not black
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.LeaderboardEntry;
+import backend.geocivic.dto.ReportSummary;
+import backend.geocivic.model.User;
+import backend.geocivic.repository.ReportRepository;
+import backend.geocivic.repository.UserRepository;
+import backend.geocivic.util.OrderStatisticTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Leaderboard — citizens ranked by civic coins and by resolved reports,
+ * city-wide and per area.
+ *
+ * Each (scope, metric) board is an {@link OrderStatisticTree} ordered by
+ * score (high first) then user id, so top-N is an in-order walk and a
+ * citizen's rank is one O(log n) descent. CoinLedgerService reports every
+ * balance change, ReportController every saved report (a report counts while
+ * its status is Resolved) and profile edits may move a citizen between areas;
+ * each of these is a remove + add on at most four trees.
+ *
+ * Rebuilt from the database once the application is ready.
+ */
+@Component
+public class Leaderboard {
+
+    private static final Logger log = LoggerFactory.getLogger(Leaderboard.class);
+
+    private static final String CITIZEN_ROLE = "USER";
+    private static final String RESOLVED_STATUS = "Resolved";
+    private static final String CITY_WIDE = "";
+    public static final int MAX_LIMIT = 100;
+
+    public enum Metric {
+        COINS, RESOLVED;
+
+        /** Parses the "metric" query parameter: "coins" (default) or "resolved". */
+        public static Metric fromParam(String value) {
+            if (value == null || value.isBlank())
+                return COINS;
+            return switch (value.trim().toLowerCase()) {
+                case "coins" -> COINS;
+                case "resolved" -> RESOLVED;
+                default -> throw new IllegalArgumentException("Unknown metric '" + value + "'.");
+            };
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final ReportRepository reportRepository;
+
+    // All state below is guarded by "this"
+    private final Map<Long, Standing> standings = new HashMap<>();
+    private final Map<String, EnumMap<Metric, OrderStatisticTree<Ranked>>> boards = new HashMap<>();
+    /** reportId → (owner, counts as resolved), so a status change applies a delta. */
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    /** userId → id of the newest ledger entry applied, so late hooks can't regress a balance. */
+    private final Map<Long, Long> coinsAsOf = new HashMap<>();
+
+    public Leaderboard(UserRepository userRepository, ReportRepository reportRepository) {
+        this.userRepository = userRepository;
+        this.reportRepository = reportRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        standings.clear();
+        boards.clear();
+        contributions.clear();
+        coinsAsOf.clear();
+
+        Map<Long, Integer> resolvedByUser = new HashMap<>();
+        for (ReportSummary report : reportRepository.findAllSummaries()) {
+            Contribution contribution = Contribution.of(report);
+            contributions.put(report.getId(), contribution);
+            if (contribution.resolved())
+                resolvedByUser.merge(contribution.userId(), 1, Integer::sum);
+        }
+        for (User user : userRepository.findByRole(CITIZEN_ROLE)) {
+            Standing standing = new Standing(user.getId(), user.getFullName(), user.getArea(),
+                    coinsOf(user), resolvedByUser.getOrDefault(user.getId(), 0));
+            standings.put(standing.userId(), standing);
+            add(standing);
+        }
+        log.info("Leaderboard: ranked {} citizens", standings.size());
+    }
+
+    // ── Updates ───────────────────────────────────────────────────────────────
+
+    /**
+     * A committed ledger movement left the user with {@code balance}. Commit
+     * hooks may run out of order, so an entry older than the last one applied
+     * is ignored.
+     */
+    public synchronized void coinsChanged(Long userId, int balance, long ledgerEntryId) {
+        Long applied = coinsAsOf.get(userId);
+        if (applied != null && applied >= ledgerEntryId)
+            return;
+        coinsAsOf.put(userId, ledgerEntryId);
+        Standing current = standings.get(userId);
+        if (current != null && current.coins() != balance)
+            replace(current, current.withCoins(balance));
+    }
+
+    /** Replaces whatever this report contributed before with its current state. */
+    public synchronized void reportUpdated(ReportSummary report) {
+        Contribution current = Contribution.of(report);
+        Contribution previous = contributions.put(report.getId(), current);
+        if (previous != null && previous.resolved())
+            adjustResolved(previous.userId(), -1);
+        if (current.resolved())
+            adjustResolved(current.userId(), 1);
+    }
+
+    /** A citizen registered or edited their profile (name or area may have changed). */
+    public synchronized void userUpdated(User user) {
+        if (!CITIZEN_ROLE.equals(user.getRole()))
+            return;
+        Standing current = standings.get(user.getId());
+        if (current == null) {
+            Standing standing = new Standing(user.getId(), user.getFullName(), user.getArea(), coinsOf(user), 0);
+            standings.put(standing.userId(), standing);
+            add(standing);
+        } else {
+            replace(current, new Standing(current.userId(), user.getFullName(), user.getArea(),
+                    current.coins(), current.resolved()));
+        }
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    /** The top {@code limit} citizens of an area, or city-wide when {@code area} is blank. */
+    public synchronized List<LeaderboardEntry> top(Metric metric, String area, int limit) {
+        OrderStatisticTree<Ranked> board = board(scopeOf(area), metric, false);
+        if (board == null)
+            return List.of();
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        int rank = 0;
+        int previousScore = Integer.MIN_VALUE;
+        List<Ranked> first = board.first(Math.max(1, Math.min(limit, MAX_LIMIT)));
+        for (int i = 0; i < first.size(); i++) {
+            Ranked ranked = first.get(i);
+            if (ranked.score() != previousScore)
+                rank = i + 1;
+            previousScore = ranked.score();
+            entries.add(entry(rank, standings.get(ranked.userId()), metric));
+        }
+        return entries;
+    }
+
+    /** The citizen's rank city-wide ({@code inArea} false) or within their own area. */
+    public synchronized Optional<LeaderboardEntry> rankOf(Metric metric, Long userId, boolean inArea) {
+        Standing standing = standings.get(userId);
+        if (standing == null)
+            return Optional.empty();
+        String scope = inArea ? scopeOf(standing.area()) : CITY_WIDE;
+        if (inArea && scope.equals(CITY_WIDE))
+            return Optional.empty();
+        OrderStatisticTree<Ranked> board = board(scope, metric, false);
+        // Everyone with a strictly higher score is ahead; ties share the rank
+        int ahead = board.countLessThan(new Ranked(standing.score(metric), Long.MIN_VALUE));
+        return Optional.of(entry(ahead + 1, standing, metric));
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private record Standing(Long userId, String fullName, String area, int coins, int resolved) {
+        int score(Metric metric) {
+            return metric == Metric.COINS ? coins : resolved;
+        }
+
+        Standing withCoins(int coins) {
+            return new Standing(userId, fullName, area, coins, resolved);
+        }
+
+        Standing withResolved(int resolved) {
+            return new Standing(userId, fullName, area, coins, resolved);
+        }
+    }
+
+    /** Tree key: higher score first, then lower user id. */
+    private record Ranked(int score, long userId) {
+        static final Comparator<Ranked> ORDER = Comparator.comparingInt(Ranked::score).reversed()
+                .thenComparingLong(Ranked::userId);
+    }
+
+    private record Contribution(Long userId, boolean resolved) {
+        static Contribution of(ReportSummary report) {
+            return new Contribution(report.getUserId(), RESOLVED_STATUS.equals(report.getStatus()));
+        }
+    }
+
+    private void adjustResolved(Long userId, int delta) {
+        Standing current = userId != null ? standings.get(userId) : null;
+        if (current != null)
+            replace(current, current.withResolved(Math.max(0, current.resolved() + delta)));
+    }
+
+    private void replace(Standing previous, Standing current) {
+        remove(previous);
+        standings.put(current.userId(), current);
+        add(current);
+    }
+
+    private void add(Standing standing) {
+        String area = scopeOf(standing.area());
+        for (Metric metric : Metric.values()) {
+            Ranked key = new Ranked(standing.score(metric), standing.userId());
+            board(CITY_WIDE, metric, true).add(key);
+            if (!area.equals(CITY_WIDE))
+                board(area, metric, true).add(key);
+        }
+    }
+
+    private void remove(Standing standing) {
+        String area = scopeOf(standing.area());
+        for (Metric metric : Metric.values()) {
+            Ranked key = new Ranked(standing.score(metric), standing.userId());
+            board(CITY_WIDE, metric, true).remove(key);
+            if (!area.equals(CITY_WIDE))
+                board(area, metric, true).remove(key);
+        }
+        // Drop an area nobody is in any more (e.g. its last citizen moved away)
+        if (!area.equals(CITY_WIDE) && board(area, Metric.COINS, true).size() == 0)
+            boards.remove(area);
+    }
+
+    private OrderStatisticTree<Ranked> board(String scope, Metric metric, boolean create) {
+        EnumMap<Metric, OrderStatisticTree<Ranked>> byMetric = create
+                ? boards.computeIfAbsent(scope, s -> new EnumMap<>(Metric.class))
+                : boards.get(scope);
+        if (byMetric == null)
+            return null;
+        return create
+                ? byMetric.computeIfAbsent(metric, m -> new OrderStatisticTree<>(Ranked.ORDER))
+                : byMetric.get(metric);
+    }
+
+    private LeaderboardEntry entry(int rank, Standing standing, Metric metric) {
+        return new LeaderboardEntry(rank, standing.userId(), standing.fullName(), standing.area(),
+                standing.score(metric));
+    }
+
+    /** Areas typed by citizens differ in case and spacing; group them case-insensitively. */
+    private static String scopeOf(String area) {
+        return area == null ? CITY_WIDE : area.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int coinsOf(User user) {
+        return user.getCivicCoins() != null ? user.getCivicCoins() : 0;
+    }
+}
@@ -0,0 +1,292 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.NotificationView;
+import backend.geocivic.util.AfterCommit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationDispatcher — write-behind queue for new notifications.
+ *
+ * Request threads only enqueue. A single writer thread drains the queue and
+ * inserts whole batches with one JDBC batch statement (Hibernate cannot batch
+ * IDENTITY inserts), then updates unread counters, bumps ETags and pushes the
+ * stored rows to open SSE streams. The datasource URL needs
+ * rewriteBatchedStatements=true so Connector/J sends a batch as one multi-row
+ * INSERT; each batch is one transaction, so a retried batch never duplicates
+ * rows that were already committed.
+ *
+ * – Backpressure: when the queue is full the caller waits up to
+ * offer-timeout-ms, then writes its notification synchronously instead of
+ * dropping it.
+ * – Durability: a batch that still fails after retries, and anything left in
+ * the queue at shutdown, is appended to a local spool file (JSON lines) which
+ * is fed back into the queue on the next startup.
+ */
+@Component
+public class NotificationDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final String INSERT_SQL = "insert into notifications (user_id, message, is_read, created_at) values (?, ?, ?, ?)";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final UnreadNotificationCounter unreadCounter;
+    private final ResourceVersions resourceVersions;
+    private final NotificationStreamService notificationStreamService;
+
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final Path spoolFile;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public NotificationDispatcher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            UnreadNotificationCounter unreadCounter, ResourceVersions resourceVersions,
+            NotificationStreamService notificationStreamService,
+            @Value("${notifications.queue.capacity:10000}") int capacity,
+            @Value("${notifications.queue.batch-size:100}") int batchSize,
+            @Value("${notifications.queue.offer-timeout-ms:50}") long offerTimeoutMillis,
+            @Value("${notifications.queue.spool-file:./notification-spool.jsonl}") String spoolFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.unreadCounter = unreadCounter;
+        this.resourceVersions = resourceVersions;
+        this.notificationStreamService = notificationStreamService;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.offerTimeoutMillis = Math.max(0, offerTimeoutMillis);
+        this.spoolFile = Paths.get(spoolFile);
+    }
+
+    /** Queues a notification; falls back to a synchronous insert when the queue stays full. */
+    public void submit(Long userId, String message) {
+        Pending pending = new Pending(userId, message, LocalDateTime.now());
+        if (running) {
+            try {
+                if (queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS))
+                    return;
+                log.warn("NotificationDispatcher: queue full, writing notification for userId={} inline", userId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        write(List.of(pending));
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    /** Feeds notifications spooled by a previous run back into the database. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replaySpool() {
+        if (!Files.exists(spoolFile))
+            return;
+        Path replaying = spoolFile.resolveSibling(spoolFile.getFileName() + ".replaying");
+        List<Pending> spooled = new ArrayList<>();
+        try {
+            Files.move(spoolFile, replaying, StandardCopyOption.REPLACE_EXISTING);
+            for (String line : Files.readAllLines(replaying, StandardCharsets.UTF_8)) {
+                if (!line.isBlank())
+                    spooled.add(objectMapper.readValue(line, Pending.class));
+            }
+        } catch (IOException e) {
+            log.error("NotificationDispatcher: could not read spool file {}", spoolFile, e);
+            return;
+        }
+        log.info("NotificationDispatcher: replaying {} spooled notifications", spooled.size());
+        for (int from = 0; from < spooled.size(); from += batchSize) {
+            write(spooled.subList(from, Math.min(from + batchSize, spooled.size())));
+        }
+        try {
+            Files.deleteIfExists(replaying);
+        } catch (IOException e) {
+            log.warn("NotificationDispatcher: could not delete {}", replaying, e);
+        }
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("notification-writer").daemon().start(this::drainLoop);
+    }
+
+    /** Stops accepting queued work, lets the writer finish, and spools whatever it could not write. */
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<Pending> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty())
+            spool(leftover);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /** A notification waiting to be inserted; also the spool file's line format. */
+    record Pending(Long userId, String message, LocalDateTime createdAt) {
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("NotificationDispatcher: unexpected error in writer", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /** Inserts the batch (retrying), then publishes it; spools it if the database stays unavailable. */
+    private void write(List<Pending> batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                List<Long> ids = insert(batch);
+                // An inline write may have joined the caller's transaction
+                AfterCommit.run(() -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        published(batch.get(i), i < ids.size() ? ids.get(i) : null);
+                    }
+                });
+                return;
+            } catch (RuntimeException e) {
+                log.warn("NotificationDispatcher: insert of {} notifications failed (attempt {}/{})",
+                        batch.size(), attempt, MAX_ATTEMPTS, e);
+                if (attempt < MAX_ATTEMPTS) {
+                    try {
+                        Thread.sleep(200L * attempt);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        spool(batch);
+    }
+
+    /**
+     * Inserts the batch all-or-nothing. On a connection already inside a
+     * transaction (an inline write from a transactional caller) the rows
+     * commit with it.
+     */
+    private List<Long> insert(List<Pending> batch) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            if (!connection.getAutoCommit())
+                return insertRows(connection, batch);
+            connection.setAutoCommit(false);
+            try {
+                List<Long> ids = insertRows(connection, batch);
+                connection.commit();
+                return ids;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    private List<Long> insertRows(Connection connection, List<Pending> batch) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Pending pending : batch) {
+                ps.setLong(1, pending.userId());
+                ps.setString(2, pending.message());
+                ps.setBoolean(3, false);
+                ps.setTimestamp(4, Timestamp.valueOf(pending.createdAt()));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            List<Long> ids = new ArrayList<>(batch.size());
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                while (keys.next()) {
+                    ids.add(keys.getLong(1));
+                }
+            }
+            return ids;
+        }
+    }
+
+    private void published(Pending pending, Long id) {
+        unreadCounter.adjust(pending.userId(), 1);
+        resourceVersions.notificationsChanged(pending.userId());
+        if (id != null) {
+            notificationStreamService.publish(pending.userId(),
+                    new NotificationView(id, pending.message(), false, pending.createdAt()));
+        }
+    }
+
+    private synchronized void spool(List<Pending> pending) {
+        try {
+            List<String> lines = new ArrayList<>(pending.size());
+            for (Pending p : pending) {
+                lines.add(objectMapper.writeValueAsString(p));
+            }
+            Files.write(spoolFile, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.warn("NotificationDispatcher: spooled {} notifications to {}", pending.size(), spoolFile);
+        } catch (IOException e) {
+            log.error("NotificationDispatcher: could not spool {} notifications, they are lost: {}",
+                    pending.size(), pending, e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package backend.geocivic.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * NotificationRetentionJob — moves read notifications older than
+ * {@code notifications.retention.days} from {@code notifications} into
+ * {@code notifications_archive}.
+ *
+ * Work is done in chunks of {@code notifications.retention.batch-size} rows,
+ * each copied and deleted in its own short transaction, so the job never
+ * holds locks on a large range of the hot table. Unread notifications are
+ * never archived, so unread counters are unaffected; the owners' feed ETags
+ * are bumped because their lists got shorter.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private static final String SELECT_CHUNK = "select id, user_id from notifications "
+            + "where is_read = true and created_at < ? order by created_at, id limit ?";
+    private static final String COPY_CHUNK = "insert into notifications_archive "
+            + "(id, user_id, message, is_read, created_at, archived_at) "
+            + "select id, user_id, message, is_read, created_at, :archivedAt from notifications where id in (:ids)";
+    private static final String DELETE_CHUNK = "delete from notifications where id in (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourceVersions resourceVersions;
+
+    @Value("${notifications.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notifications.retention.days:30}")
+    private int retentionDays;
+
+    @Value("${notifications.retention.batch-size:500}")
+    private int batchSize;
+
+    public NotificationRetentionJob(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            PlatformTransactionManager transactionManager, ResourceVersions resourceVersions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resourceVersions = resourceVersions;
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void archiveOldNotifications() {
+        if (!enabled)
+            return;
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int chunk = Math.max(1, batchSize);
+        Set<Long> touchedUsers = new HashSet<>();
+        int total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff, chunk, touchedUsers));
+            if (moved == null || moved == 0)
+                break;
+            total += moved;
+            if (moved < chunk)
+                break;
+        }
+        touchedUsers.forEach(resourceVersions::notificationsChanged);
+        if (total > 0)
+            log.info("NotificationRetention: archived {} read notifications older than {} days for {} users",
+                    total, retentionDays, touchedUsers.size());
+    }
+
+    /** Copies one chunk into the archive and deletes it from the hot table; returns the rows moved. */
+    private int archiveChunk(LocalDateTime cutoff, int chunk, Set<Long> touchedUsers) {
+        List<long[]> rows = jdbcTemplate.query(SELECT_CHUNK,
+                (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) },
+                Timestamp.valueOf(cutoff), chunk);
+        if (rows.isEmpty())
+            return 0;
+
+        List<Long> ids = rows.stream().map(r -> r[0]).toList();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+        namedJdbcTemplate.update(COPY_CHUNK, params);
+        namedJdbcTemplate.update(DELETE_CHUNK, params);
+        rows.forEach(r -> touchedUsers.add(r[1]));
+        return rows.size();
+    }
+}
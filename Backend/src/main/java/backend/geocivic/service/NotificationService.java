@@ -0,0 +1,140 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.CursorPage;
+import backend.geocivic.dto.NotificationView;
+import backend.geocivic.model.Notification;
+import backend.geocivic.model.User;
+import backend.geocivic.repository.NotificationRepository;
+import backend.geocivic.util.AfterCommit;
+import backend.geocivic.util.Cursors;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * NotificationService — the single place notifications are created and
+ * marked read.
+ *
+ * New notifications are handed to {@link NotificationDispatcher}, which
+ * inserts them in batches off the request thread and then bumps the user's
+ * ETag, unread counter and open streams. Read-marking is done with
+ * conditional UPDATEs whose row counts are applied to
+ * {@link UnreadNotificationCounter} once the transaction commits (marking an
+ * already-read notification changes nothing).
+ */
+@Service
+public class NotificationService {
+
+    public static final int DEFAULT_FEED_LIMIT = 20;
+    public static final int MAX_FEED_LIMIT = 100;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final UnreadNotificationCounter unreadCounter;
+    private final ResourceVersions resourceVersions;
+
+    public NotificationService(NotificationRepository notificationRepository,
+            NotificationDispatcher notificationDispatcher, UnreadNotificationCounter unreadCounter,
+            ResourceVersions resourceVersions) {
+        this.notificationRepository = notificationRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.unreadCounter = unreadCounter;
+        this.resourceVersions = resourceVersions;
+    }
+
+    /** Queues a notification for the user; it is stored and pushed asynchronously. */
+    public void notify(User user, String message) {
+        notificationDispatcher.submit(user.getId(), message);
+    }
+
+    /**
+     * One page of the user's notifications, newest first. The cursor encodes
+     * the last row's (createdAt, id), so each page is an index range scan on
+     * (user_id, created_at) regardless of how far back the client scrolls.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public CursorPage<NotificationView> feed(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_FEED_LIMIT));
+        // One extra row tells whether another page exists without a COUNT query
+        PageRequest fetch = PageRequest.ofSize(pageSize + 1);
+
+        List<Notification> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, fetch);
+        } else {
+            String[] parts = decodeCursor(cursor);
+            rows = notificationRepository.findPageAfter(userId, LocalDateTime.parse(parts[0]),
+                    Long.parseLong(parts[1]), fetch);
+        }
+
+        List<NotificationView> page = rows.stream().limit(pageSize).map(NotificationView::of).toList();
+        if (rows.size() <= pageSize)
+            return new CursorPage<>(page, null);
+        NotificationView last = page.get(pageSize - 1);
+        return new CursorPage<>(page, encodeCursor(last.getCreatedAt(), last.getId()));
+    }
+
+    public long unreadCount(Long userId) {
+        return unreadCounter.get(userId);
+    }
+
+    /** Returns false when the notification does not exist. */
+    @Transactional
+    public boolean markRead(Long notificationId) {
+        Long userId = notificationRepository.findUserIdById(notificationId);
+        if (userId == null)
+            return false;
+        markRead(userId, List.of(notificationId));
+        return true;
+    }
+
+    /** Marks the given notifications of one user read; returns how many were unread. */
+    @Transactional
+    public int markRead(Long userId, Collection<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty())
+            return 0;
+        int changed = notificationRepository.markRead(userId, notificationIds);
+        if (changed > 0) {
+            AfterCommit.run(() -> {
+                unreadCounter.adjust(userId, -changed);
+                resourceVersions.notificationsChanged(userId);
+            });
+        }
+        return changed;
+    }
+
+    @Transactional
+    public int markAllRead(Long userId) {
+        int changed = notificationRepository.markAllRead(userId);
+        // Re-count rather than store 0: inserts may commit around this UPDATE
+        AfterCommit.run(() -> {
+            unreadCounter.evict(userId);
+            if (changed > 0)
+                resourceVersions.notificationsChanged(userId);
+        });
+        return changed;
+    }
+
+    // ── Cursor helpers ────────────────────────────────────────────────────────
+
+    private String encodeCursor(LocalDateTime createdAt, Long id) {
+        return Cursors.encode(createdAt, id);
+    }
+
+    private String[] decodeCursor(String cursor) {
+        String[] parts = Cursors.decode(cursor, 2);
+        try {
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,234 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.NotificationView;
+import backend.geocivic.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * NotificationStreamService — pushes new notifications to open browser
+ * connections over Server-Sent Events (GET /api/notifications/stream).
+ *
+ * – Per-user fan-out: a user may have several tabs open; each gets every event.
+ * – Idle connections hold no thread: the servlet request is async and writes
+ * happen on short-lived virtual threads only when there is something to send.
+ * – Each connection has a bounded outbound queue. A client that falls that far
+ * behind is disconnected; EventSource reconnects with Last-Event-ID and the
+ * missed notifications are replayed from the database.
+ * – A heartbeat comment is sent periodically so proxies keep the connection open
+ * and dead connections are noticed.
+ *
+ * Event ids are notification ids, so "resume from last event id" is simply
+ * "notifications with a greater id".
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    private final NotificationRepository notificationRepository;
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, List<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${notifications.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${notifications.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    public NotificationStreamService(NotificationRepository notificationRepository) {
+        this.notificationRepository = notificationRepository;
+    }
+
+    /**
+     * Opens a stream for the user, first replaying any notifications newer
+     * than {@code lastEventId} (when the client is resuming).
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> connection.close());
+        connection.sendNow(Event.ready());
+
+        while (true) {
+            List<Connection> connections = connectionsByUser.computeIfAbsent(userId,
+                    id -> new CopyOnWriteArrayList<>());
+            // Holding the list's lock while replaying keeps publish() for this user
+            // from interleaving, so nothing falls between the backlog query and going live
+            synchronized (connections) {
+                if (connectionsByUser.get(userId) != connections)
+                    continue; // the list was retired by a concurrent close(); take the new one
+                if (lastEventId != null) {
+                    notificationRepository.findTop100ByUserIdAndIdGreaterThanOrderByIdAsc(userId, lastEventId)
+                            .forEach(n -> connection.replay(NotificationView.of(n)));
+                }
+                connections.add(connection);
+                while (connections.size() > maxConnectionsPerUser) {
+                    connections.get(0).complete();
+                }
+                break;
+            }
+        }
+        return emitter;
+    }
+
+    /** Delivers a just-saved notification to every open connection of its user. */
+    public void publish(Long userId, NotificationView notification) {
+        List<Connection> connections = connectionsByUser.get(userId);
+        if (connections == null)
+            return;
+        synchronized (connections) {
+            for (Connection connection : connections) {
+                connection.enqueue(Event.notification(notification));
+            }
+        }
+    }
+
+    public int connectionCount() {
+        return connectionsByUser.values().stream().mapToInt(List::size).sum();
+    }
+
+    @Scheduled(fixedRateString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (List<Connection> connections : connectionsByUser.values()) {
+            for (Connection connection : connections) {
+                connection.enqueue(Event.HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(Connection::complete));
+        sender.shutdown();
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /** What goes down the wire: a named JSON event, or a bare comment line. */
+    private record Event(Long id, String name, Object data, String comment) {
+        static final Event HEARTBEAT = new Event(null, null, null, "heartbeat");
+
+        static Event ready() {
+            return new Event(null, "ready", Map.of("status", "connected"), null);
+        }
+
+        static Event notification(NotificationView n) {
+            return new Event(n.getId(), "notification", n, null);
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event();
+            if (comment != null)
+                return builder.comment(comment);
+            if (id != null)
+                builder.id(id.toString());
+            return builder.name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        /**
+         * Ids already queued by replay, so a live copy of the same notification is
+         * skipped. Only touched while holding the user's connection list lock.
+         */
+        private final Set<Long> replayed = new HashSet<>();
+        private volatile boolean closed;
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Replayed events are written straight to the emitter: it has not been
+         * handed to Spring yet, so they are only buffered in memory and flushed
+         * once the response starts, without counting against the live queue.
+         */
+        void replay(NotificationView notification) {
+            replayed.add(notification.getId());
+            sendNow(Event.notification(notification));
+        }
+
+        void sendNow(Event event) {
+            try {
+                emitter.send(event.toSse());
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        void enqueue(Event event) {
+            if (closed)
+                return;
+            if (event.id() != null && replayed.contains(event.id()))
+                return;
+            if (!queue.offer(event)) {
+                log.warn("NotificationStream: userId={} is too slow, dropping connection", userId);
+                complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true))
+                sender.execute(this::drain);
+        }
+
+        private void drain() {
+            try {
+                Event event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event.toSse());
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+                if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true))
+                    sender.execute(this::drain);
+            }
+        }
+
+        void complete() {
+            close();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // already completed
+            }
+        }
+
+        void close() {
+            if (closed)
+                return;
+            closed = true;
+            queue.clear();
+            List<Connection> connections = connectionsByUser.get(userId);
+            if (connections != null) {
+                synchronized (connections) {
+                    connections.remove(this);
+                    if (connections.isEmpty())
+                        connectionsByUser.remove(userId, connections);
+                }
+            }
+        }
+    }
+}
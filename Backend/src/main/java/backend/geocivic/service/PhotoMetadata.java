@@ -0,0 +1,73 @@
+package backend.geocivic.service;
+
+import backend.geocivic.model.Report;
+import backend.geocivic.util.ExifReader;
+import backend.geocivic.util.GeoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * PhotoMetadata — checks a new report's coordinates against where its photo
+ * says it was taken.
+ *
+ * The EXIF block is read straight from the upload (see {@link ExifReader}),
+ * before anything re-encodes the image and strips it. The photo's position
+ * and capture time are recorded on the report; if the citizen sent no
+ * coordinates the photo's are used, and if both are present but more than
+ * {@code reports.exif.mismatch-meters} apart the report is flagged for the
+ * admin to look at.
+ */
+@Service
+public class PhotoMetadata {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoMetadata.class);
+
+    @Value("${reports.exif.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reports.exif.mismatch-meters:500}")
+    private double mismatchMeters;
+
+    /** Applies the photo's EXIF to the (not yet saved) report; a no-op without it. */
+    public void apply(Report report, MultipartFile image) {
+        if (!enabled || image == null || image.isEmpty())
+            return;
+        ExifReader.Metadata metadata = read(image);
+        if (metadata == null)
+            return;
+
+        report.setPhotoTakenAt(metadata.takenAt());
+        if (!metadata.hasLocation())
+            return;
+        report.setPhotoLatitude(metadata.latitude());
+        report.setPhotoLongitude(metadata.longitude());
+
+        if (report.getLatitude() == null || report.getLongitude() == null) {
+            report.setLatitude(metadata.latitude());
+            report.setLongitude(metadata.longitude());
+            return;
+        }
+        double distance = GeoUtils.haversineDistance(report.getLatitude(), report.getLongitude(),
+                metadata.latitude(), metadata.longitude());
+        if (distance > mismatchMeters) {
+            report.setLocationMismatch(true);
+            log.info("PhotoMetadata: photo for '{}' was taken {} m from the submitted location",
+                    report.getTitle(), Math.round(distance));
+        }
+    }
+
+    private ExifReader.Metadata read(MultipartFile image) {
+        try (InputStream in = image.getInputStream()) {
+            return ExifReader.read(in);
+        } catch (IOException e) {
+            log.debug("PhotoMetadata: no readable EXIF in {}", image.getOriginalFilename(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.AnalyticsSummary;
+import backend.geocivic.dto.ReportSummary;
+import backend.geocivic.repository.ReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * ReportAnalytics — incrementally maintained counters behind /api/analytics.
+ *
+ * For every report we remember what it last contributed (status, category,
+ * staff, location, creation day). When ReportController saves a report, the
+ * old contribution is subtracted and the new one added, so each write costs a
+ * handful of map updates and each dashboard read costs O(number of keys),
+ * independent of how many reports exist.
+ *
+ * Rebuilt from the database once the application is ready.
+ */
+@Component
+public class ReportAnalytics {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportAnalytics.class);
+
+    private static final Set<String> OPEN = Set.of("Open", "Pending");
+    private static final Set<String> IN_PROGRESS = Set.of("Progress", "In Progress");
+    private static final String PENDING_VERIFICATION = "PendingVerification";
+    private static final String RESOLVED = "Resolved";
+    private static final int TOP_LOCATIONS = 5;
+
+    private final ReportRepository reportRepository;
+
+    // All state below is guarded by "this"
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    private final Map<String, Long> byStatus = new HashMap<>();
+    private final Map<String, Long> byCategory = new HashMap<>();
+    private final Map<String, Long> byLocation = new HashMap<>();
+    private final Map<LocalDate, Long> createdPerDay = new HashMap<>();
+    private final Map<YearMonth, Long> createdPerMonth = new HashMap<>();
+    private final Map<YearMonth, Long> resolvedPerMonth = new HashMap<>();
+    private final Map<Long, StaffTally> byStaff = new HashMap<>();
+    private long assigned;
+
+    public ReportAnalytics(ReportRepository reportRepository) {
+        this.reportRepository = reportRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        contributions.clear();
+        byStatus.clear();
+        byCategory.clear();
+        byLocation.clear();
+        createdPerDay.clear();
+        createdPerMonth.clear();
+        resolvedPerMonth.clear();
+        byStaff.clear();
+        assigned = 0;
+        for (ReportSummary report : reportRepository.findAllSummaries()) {
+            update(report);
+        }
+        log.info("ReportAnalytics: aggregated {} reports", contributions.size());
+    }
+
+    /** Replaces whatever this report contributed before with its current state. */
+    public synchronized void update(ReportSummary report) {
+        Contribution current = Contribution.of(report);
+        Contribution previous = contributions.put(report.getId(), current);
+        if (previous != null)
+            apply(previous, -1);
+        apply(current, 1);
+    }
+
+    /** Builds the dashboard payload, including a trend over the last {@code months} months. */
+    public synchronized AnalyticsSummary snapshot(int months) {
+        AnalyticsSummary s = new AnalyticsSummary();
+        long total = contributions.size();
+        long resolved = byStatus.getOrDefault(RESOLVED, 0L);
+
+        s.setTotal(total);
+        s.setOpen(sum(byStatus, OPEN));
+        s.setInProgress(sum(byStatus, IN_PROGRESS));
+        s.setPendingVerification(byStatus.getOrDefault(PENDING_VERIFICATION, 0L));
+        s.setResolved(resolved);
+        s.setAssigned(assigned);
+        s.setUnassigned(total - assigned);
+        s.setResolutionRate(percent(resolved, total));
+        s.setByStatus(new TreeMap<>(byStatus));
+        s.setByCategory(sortedByCount(byCategory, Integer.MAX_VALUE));
+
+        // ── Trend ─────────────────────────────────────────────────────────────
+        YearMonth thisMonth = YearMonth.now();
+        List<AnalyticsSummary.MonthCount> monthly = new ArrayList<>();
+        for (int i = Math.max(months, 1) - 1; i >= 0; i--) {
+            YearMonth m = thisMonth.minusMonths(i);
+            monthly.add(new AnalyticsSummary.MonthCount(m.toString(),
+                    createdPerMonth.getOrDefault(m, 0L), resolvedPerMonth.getOrDefault(m, 0L)));
+        }
+        s.setMonthly(monthly);
+
+        LocalDate today = LocalDate.now();
+        s.setLast7Days(createdBetween(today.minusDays(6), today));
+        s.setPrevious7Days(createdBetween(today.minusDays(13), today.minusDays(7)));
+
+        // ── Locations & staff ─────────────────────────────────────────────────
+        List<AnalyticsSummary.LocationCount> locations = new ArrayList<>();
+        sortedByCount(byLocation, TOP_LOCATIONS)
+                .forEach((location, count) -> locations.add(new AnalyticsSummary.LocationCount(location, count)));
+        s.setTopLocations(locations);
+
+        List<AnalyticsSummary.StaffPerformance> staff = new ArrayList<>();
+        byStaff.forEach((id, t) -> staff.add(new AnalyticsSummary.StaffPerformance(
+                id, t.name, t.total, t.done, t.pending, percent(t.done, t.total))));
+        staff.sort(Comparator.comparingLong(AnalyticsSummary.StaffPerformance::total).reversed());
+        s.setStaff(staff);
+
+        return s;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void apply(Contribution c, long delta) {
+        bump(byStatus, c.status(), delta);
+        bump(byCategory, c.category(), delta);
+        bump(byLocation, c.location(), delta);
+        if (c.createdOn() != null) {
+            YearMonth month = YearMonth.from(c.createdOn());
+            bump(createdPerDay, c.createdOn(), delta);
+            bump(createdPerMonth, month, delta);
+            if (RESOLVED.equals(c.status()))
+                bump(resolvedPerMonth, month, delta);
+        }
+        if (c.staffId() != null) {
+            assigned += delta;
+            StaffTally tally = byStaff.computeIfAbsent(c.staffId(), id -> new StaffTally());
+            if (delta > 0 && c.staffName() != null)
+                tally.name = c.staffName();
+            tally.total += delta;
+            if (RESOLVED.equals(c.status()))
+                tally.done += delta;
+            else if (IN_PROGRESS.contains(c.status()) || PENDING_VERIFICATION.equals(c.status()))
+                tally.pending += delta;
+            if (tally.total == 0)
+                byStaff.remove(c.staffId());
+        }
+    }
+
+    /** Adds delta to the counter for key, dropping the entry when it reaches zero. */
+    private static <K> void bump(Map<K, Long> counts, K key, long delta) {
+        if (key == null)
+            return;
+        counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private long createdBetween(LocalDate fromInclusive, LocalDate toInclusive) {
+        long n = 0;
+        for (LocalDate d = fromInclusive; !d.isAfter(toInclusive); d = d.plusDays(1)) {
+            n += createdPerDay.getOrDefault(d, 0L);
+        }
+        return n;
+    }
+
+    private static long sum(Map<String, Long> counts, Set<String> keys) {
+        long n = 0;
+        for (String key : keys) {
+            n += counts.getOrDefault(key, 0L);
+        }
+        return n;
+    }
+
+    private static int percent(long part, long whole) {
+        return whole > 0 ? (int) Math.round(part * 100.0 / whole) : 0;
+    }
+
+    private static Map<String, Long> sortedByCount(Map<String, Long> counts, int limit) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    /** What a single report adds to the counters. */
+    private record Contribution(String status, String category, Long staffId, String staffName,
+            String location, LocalDate createdOn) {
+
+        static Contribution of(ReportSummary r) {
+            String location = null;
+            if (r.getLocation() != null && !r.getLocation().isBlank()) {
+                // Group by the first segment (area / city), as the dashboard does
+                location = r.getLocation().split(",")[0].trim();
+            }
+            return new Contribution(r.getStatus(), r.getCategory(), r.getAssignedStaffId(),
+                    r.getAssignedAgentName(), location,
+                    r.getCreatedAt() != null ? r.getCreatedAt().toLocalDate() : null);
+        }
+    }
+
+    private static class StaffTally {
+        String name;
+        long total;
+        long done;
+        long pending;
+    }
+}
@@ -0,0 +1,64 @@
+package backend.geocivic.service;
+
+import backend.geocivic.model.Report;
+import backend.geocivic.repository.ReportRepository;
+import backend.geocivic.util.BoundedCache;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * ReportCache — read-through cache of full Report entities for the detail
+ * endpoint and the chatbot.
+ *
+ * Bounded by {@code reports.cache.max-size} (LRU) and
+ * {@code reports.cache.ttl-seconds}. Entries are loaded with their updates
+ * history initialised so they can be serialised after the loading session
+ * has closed. Every mutating endpoint in ReportController evicts the entry
+ * once its writes are done, and loads racing with an eviction are discarded,
+ * so readers never get a status older than the last completed write.
+ *
+ * Cached instances are shared between threads and must be treated as
+ * read-only; write paths keep loading managed entities from the repository.
+ */
+@Component
+public class ReportCache {
+
+    private final ReportRepository reportRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final BoundedCache<Long, Report> cache;
+
+    public ReportCache(ReportRepository reportRepository, PlatformTransactionManager transactionManager,
+            @Value("${reports.cache.max-size:1000}") int maxSize,
+            @Value("${reports.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.reportRepository = reportRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.cache = new BoundedCache<>("reports", maxSize, ttlSeconds * 1000);
+    }
+
+    public Optional<Report> get(Long id) {
+        return Optional.ofNullable(cache.get(id, this::load));
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    public BoundedCache.Stats stats() {
+        return cache.stats();
+    }
+
+    private Report load(Long id) {
+        return readOnlyTx.execute(status -> {
+            Report report = reportRepository.findById(id).orElse(null);
+            if (report != null)
+                Hibernate.initialize(report.getUpdates());
+            return report;
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.ReportSummary;
+import backend.geocivic.model.Report;
+import org.springframework.stereotype.Component;
+
+/**
+ * ReportIndexer — keeps the in-memory read models (spatial, tile, search,
+ * analytics, leaderboard), the detail cache and the ETags in step with
+ * report writes, whether they come from ReportController or a background job.
+ */
+@Component
+public class ReportIndexer {
+
+    private final ReportSpatialIndex reportSpatialIndex;
+    private final ReportAnalytics reportAnalytics;
+    private final ReportTileIndex reportTileIndex;
+    private final ReportSearchIndex reportSearchIndex;
+    private final Leaderboard leaderboard;
+    private final ReportCache reportCache;
+    private final ResourceVersions resourceVersions;
+
+    public ReportIndexer(ReportSpatialIndex reportSpatialIndex, ReportAnalytics reportAnalytics,
+            ReportTileIndex reportTileIndex, ReportSearchIndex reportSearchIndex, Leaderboard leaderboard,
+            ReportCache reportCache, ResourceVersions resourceVersions) {
+        this.reportSpatialIndex = reportSpatialIndex;
+        this.reportAnalytics = reportAnalytics;
+        this.reportTileIndex = reportTileIndex;
+        this.reportSearchIndex = reportSearchIndex;
+        this.leaderboard = leaderboard;
+        this.reportCache = reportCache;
+        this.resourceVersions = resourceVersions;
+    }
+
+    /** Updates the read models from a report that was just saved. */
+    public void index(Report saved) {
+        ReportSummary summary = ReportSummary.of(saved);
+        reportSpatialIndex.put(summary);
+        reportAnalytics.update(summary);
+        reportTileIndex.put(summary);
+        reportSearchIndex.put(summary, saved.getDescription());
+        leaderboard.reportUpdated(summary);
+    }
+
+    /**
+     * Called once all writes for a report are done: drops the cached detail and
+     * bumps the ETags of the detail and list endpoints.
+     */
+    public void changed(Long reportId) {
+        reportCache.evict(reportId);
+        resourceVersions.reportChanged(reportId);
+    }
+}
@@ -0,0 +1,104 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.CursorPage;
+import backend.geocivic.dto.ReportFilter;
+import backend.geocivic.dto.ReportSummary;
+import backend.geocivic.model.Report;
+import backend.geocivic.repository.ReportRepository;
+import backend.geocivic.repository.ReportSort;
+import backend.geocivic.util.Cursors;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static backend.geocivic.repository.ReportSpecifications.*;
+
+/**
+ * ReportQueryService — keyset (cursor) pagination over the reports table.
+ *
+ * Instead of OFFSET paging, each page is fetched with
+ * "WHERE (sortKey, id) comes after the last row seen ORDER BY sortKey, id LIMIT n",
+ * so the cost of a page stays the same no matter how deep the client scrolls.
+ * The cursor is an opaque URL-safe token encoding the last row's (sortKey, id).
+ */
+@Service
+public class ReportQueryService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private final ReportRepository reportRepository;
+
+    public ReportQueryService(ReportRepository reportRepository) {
+        this.reportRepository = reportRepository;
+    }
+
+    /**
+     * Returns one page of reports matching the filter.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public CursorPage<ReportSummary> findPage(ReportFilter filter, ReportSort sort, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Specification<Report> spec = Specification
+                .where(statusIn(filter.getStatus()))
+                .and(categoryIn(filter.getCategory()))
+                .and(reportedBy(filter.getUserId()))
+                .and(assignedTo(filter.getStaffId()))
+                .and(createdFrom(filter.getFrom()))
+                .and(createdBefore(filter.getTo()));
+
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            spec = spec.and(after(sort, parseKey(sort, parts[0]), Long.parseLong(parts[1])));
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<ReportSummary> rows = reportRepository.findSummaries(spec, sort, pageSize + 1);
+
+        if (rows.size() <= pageSize)
+            return new CursorPage<>(rows, null);
+
+        List<ReportSummary> page = rows.subList(0, pageSize);
+        ReportSummary last = page.get(pageSize - 1);
+        return new CursorPage<>(page, encodeCursor(keyOf(sort, last), last.getId()));
+    }
+
+    // ── Cursor helpers ────────────────────────────────────────────────────────
+
+    private Object keyOf(ReportSort sort, ReportSummary report) {
+        return switch (sort) {
+            case NEWEST, OLDEST -> report.getCreatedAt();
+            case MOST_VOTED -> report.getUpvoteCount() != null ? report.getUpvoteCount() : 0;
+        };
+    }
+
+    private Object parseKey(ReportSort sort, String raw) {
+        try {
+            return switch (sort) {
+                case NEWEST, OLDEST -> LocalDateTime.parse(raw);
+                case MOST_VOTED -> Integer.valueOf(raw);
+            };
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor for sort " + sort.name().toLowerCase() + ".");
+        }
+    }
+
+    private String encodeCursor(Object key, Long id) {
+        return Cursors.encode(key, id);
+    }
+
+    private String[] decodeCursor(String cursor) {
+        String[] parts = Cursors.decode(cursor, 2);
+        try {
+            Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        return parts;
+    }
+}
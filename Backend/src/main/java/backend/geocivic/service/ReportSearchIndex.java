@@ -0,0 +1,191 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.ReportSummary;
+import backend.geocivic.dto.ReportText;
+import backend.geocivic.dto.SearchHit;
+import backend.geocivic.repository.ReportRepository;
+import backend.geocivic.util.TextSimilarity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ReportSearchIndex — in-process inverted index over report text.
+ *
+ * Title, category, location and description are lowercased and split into
+ * words; each word maps to the reports containing it with a field-weighted
+ * term frequency (title counts most, description least). The dictionary is
+ * sorted, so the last word of a query also matches as a prefix
+ * ("pot" → pothole, potholes) for search-as-you-type.
+ *
+ * Ranking is a simple TF-IDF sum; every query word must match (AND).
+ * Rebuilt from the database once the application is ready and updated by
+ * ReportController after each save.
+ */
+@Component
+public class ReportSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSearchIndex.class);
+
+    public static final int MAX_RESULTS = 100;
+    private static final int MAX_PREFIX_EXPANSION = 50;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ReportRepository reportRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** term → (report id → weighted term frequency) */
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    /** report id → its indexed terms and the summary returned to clients */
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    public ReportSearchIndex(ReportRepository reportRepository) {
+        this.reportRepository = reportRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, String> descriptions = new HashMap<>();
+        for (ReportText text : reportRepository.findAllTextsBy()) {
+            descriptions.put(text.getId(), text.getDescription());
+        }
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            for (ReportSummary report : reportRepository.findAllSummaries()) {
+                putLocked(report, descriptions.get(report.getId()));
+            }
+            log.info("ReportSearchIndex: indexed {} reports, {} terms", documents.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Indexes (or re-indexes) a report after it has been saved. */
+    public void put(ReportSummary report, String description) {
+        lock.writeLock().lock();
+        try {
+            putLocked(report, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search. Returns at most {@code limit} hits, best first; ties go
+     * to the newer report.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty())
+            return List.of();
+        int k = Math.max(1, Math.min(limit, MAX_RESULTS));
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < words.size(); i++) {
+                boolean prefix = i == words.size() - 1;
+                Map<Long, Double> wordScores = scoreWord(words.get(i), prefix);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    // AND: keep only reports that also match this word
+                    Map<Long, Double> merged = new HashMap<>();
+                    for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                        Double s = wordScores.get(e.getKey());
+                        if (s != null)
+                            merged.put(e.getKey(), e.getValue() + s);
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty())
+                    return List.of();
+            }
+
+            List<SearchHit> hits = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> hits.add(new SearchHit(score, documents.get(id).summary())));
+            hits.sort(Comparator.comparingDouble(SearchHit::getScore).reversed()
+                    .thenComparing(h -> h.getReport().getId(), Comparator.reverseOrder()));
+            return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /**
+     * TF-IDF score of every report matching one query word. A prefix match
+     * scores half of an exact one so "pothole" ranks above "potholes" for "pothole".
+     */
+    private Map<Long, Double> scoreWord(String word, boolean prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        Collection<Map.Entry<String, Map<Long, Integer>>> terms;
+        if (prefix) {
+            terms = postings.subMap(word, true, word + Character.MAX_VALUE, false).entrySet();
+        } else {
+            Map<Long, Integer> exact = postings.get(word);
+            terms = exact != null ? List.of(Map.entry(word, exact)) : List.of();
+        }
+
+        int expanded = 0;
+        for (Map.Entry<String, Map<Long, Integer>> term : terms) {
+            if (expanded++ >= MAX_PREFIX_EXPANSION)
+                break;
+            double idf = Math.log(1 + (double) documents.size() / term.getValue().size());
+            double boost = term.getKey().equals(word) ? 1.0 : 0.5;
+            term.getValue().forEach((id, tf) -> scores.merge(id, tf * idf * boost, Math::max));
+        }
+        return scores;
+    }
+
+    private void putLocked(ReportSummary report, String description) {
+        Document previous = documents.remove(report.getId());
+        if (previous != null) {
+            for (String term : previous.terms()) {
+                Map<Long, Integer> ids = postings.get(term);
+                if (ids != null) {
+                    ids.remove(report.getId());
+                    if (ids.isEmpty())
+                        postings.remove(term);
+                }
+            }
+        }
+
+        Map<String, Integer> tf = new HashMap<>();
+        addField(tf, report.getTitle(), TITLE_WEIGHT);
+        addField(tf, report.getCategory(), CATEGORY_WEIGHT);
+        addField(tf, report.getLocation(), LOCATION_WEIGHT);
+        addField(tf, description, DESCRIPTION_WEIGHT);
+
+        tf.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(report.getId(), weight));
+        documents.put(report.getId(), new Document(tf.keySet(), report));
+    }
+
+    private static void addField(Map<String, Integer> tf, String text, int weight) {
+        for (String word : tokenize(text)) {
+            tf.merge(word, weight, Integer::sum);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        String normalized = TextSimilarity.normalize(text);
+        if (normalized.isEmpty())
+            return List.of();
+        return Arrays.asList(normalized.split(" "));
+    }
+
+    private record Document(Set<String> terms, ReportSummary summary) {
+    }
+}
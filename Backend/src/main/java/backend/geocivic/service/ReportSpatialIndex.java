@@ -0,0 +1,203 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.NearbyReport;
+import backend.geocivic.dto.ReportSummary;
+import backend.geocivic.repository.ReportRepository;
+import backend.geocivic.util.GeoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * ReportSpatialIndex — in-memory grid index over report coordinates.
+ *
+ * The map is cut into square cells of {@code reports.spatial.cell-degrees}
+ * (default 0.005° ≈ 550 m north-south). Each cell holds the reports whose
+ * coordinates fall inside it, so a "near me" query only looks at the handful
+ * of cells around the point instead of scanning the reports table.
+ *
+ * Built from the database once the application is ready, then kept current
+ * by ReportController after every save. Reads are lock-free; writes are
+ * serialised because a report may move between cells.
+ */
+@Component
+public class ReportSpatialIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSpatialIndex.class);
+
+    public static final double MAX_RADIUS_METERS = 50_000;
+    public static final int MAX_RESULTS = 100;
+
+    private final ReportRepository reportRepository;
+    private final double cellDegrees;
+    /** Cells around a circle of latitude; longitude indexes wrap modulo this. */
+    private final int lngCells;
+
+    /** cell key → (report id → report) */
+    private final Map<Long, Map<Long, ReportSummary>> cells = new ConcurrentHashMap<>();
+    /** report id → report, to find the old cell when a report is updated */
+    private final Map<Long, ReportSummary> byId = new ConcurrentHashMap<>();
+
+    public ReportSpatialIndex(ReportRepository reportRepository,
+            @Value("${reports.spatial.cell-degrees:0.005}") double cellDegrees) {
+        this.reportRepository = reportRepository;
+        this.cellDegrees = cellDegrees;
+        this.lngCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        cells.clear();
+        byId.clear();
+        for (ReportSummary report : reportRepository.findAllSummaries()) {
+            put(report);
+        }
+        log.info("ReportSpatialIndex: indexed {} reports in {} cells", byId.size(), cells.size());
+    }
+
+    /** Adds or replaces a report. Reports without coordinates are dropped. */
+    public synchronized void put(ReportSummary report) {
+        if (report.getLatitude() == null || report.getLongitude() == null) {
+            remove(report.getId());
+            return;
+        }
+        long cell = cellKey(report.getLatitude(), report.getLongitude());
+        ReportSummary previous = byId.put(report.getId(), report);
+        if (previous != null) {
+            long previousCell = cellKey(previous.getLatitude(), previous.getLongitude());
+            if (previousCell != cell)
+                removeFromCell(previousCell, report.getId());
+        }
+        cells.computeIfAbsent(cell, k -> new ConcurrentHashMap<>()).put(report.getId(), report);
+    }
+
+    public synchronized void remove(Long id) {
+        ReportSummary previous = byId.remove(id);
+        if (previous != null)
+            removeFromCell(cellKey(previous.getLatitude(), previous.getLongitude()), id);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Returns up to {@code limit} reports within {@code radiusMeters} of the
+     * point, nearest first.
+     *
+     * Cells are visited in rings of growing size around the query cell. Once we
+     * hold {@code limit} hits and the farthest of them is closer than anything
+     * an unvisited ring could contain, the search stops early. Longitude wraps
+     * at the antimeridian. Near the poles a longitude cell is only millimetres
+     * wide; when the window would cover more cells than there are reports, the
+     * reports are checked one by one instead.
+     */
+    public List<NearbyReport> nearest(double lat, double lng, double radiusMeters, int limit,
+            Predicate<ReportSummary> filter) {
+        double radius = Math.min(radiusMeters, MAX_RADIUS_METERS);
+        int k = Math.max(1, Math.min(limit, MAX_RESULTS));
+
+        double cellLatMeters = cellDegrees * GeoUtils.METERS_PER_DEGREE_LAT;
+        double cellLngMeters = cellDegrees * GeoUtils.metersPerDegreeLng(lat);
+        double cellMinMeters = Math.min(cellLatMeters, cellLngMeters);
+        int maxRingLat = (int) Math.ceil(radius / cellLatMeters);
+        int maxRingLng = (int) Math.min(Math.ceil(radius / cellLngMeters), lngCells / 2);
+        int maxRing = Math.max(maxRingLat, maxRingLng);
+
+        int centreLat = latIndex(lat);
+        int centreLng = lngIndex(lng);
+
+        // Max-heap on distance holding the best k hits so far
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::distance).reversed());
+
+        if ((2L * maxRingLat + 1) * (2L * maxRingLng + 1) > byId.size()) {
+            scan(byId.values(), lat, lng, radius, k, filter, best);
+            return sorted(best);
+        }
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int di = -ring; di <= ring; di++) {
+                int latIdx = centreLat + di;
+                if (Math.abs(di) > maxRingLat || latIdx < 0 || latIdx * cellDegrees > 180)
+                    continue;
+                boolean edgeRow = Math.abs(di) == ring;
+                for (int dj = -ring; dj <= ring; dj += edgeRow ? 1 : 2 * Math.max(ring, 1)) {
+                    // -lngCells/2 and +lngCells/2 are the same cell once wrapped
+                    if (Math.abs(dj) > maxRingLng || 2 * dj == -lngCells)
+                        continue;
+                    scanCell(latIdx, Math.floorMod(centreLng + dj, lngCells), lat, lng, radius, k, filter, best);
+                }
+            }
+            if (best.size() == k && best.peek().distance() <= ring * cellMinMeters)
+                break;
+        }
+        return sorted(best);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private static List<NearbyReport> sorted(PriorityQueue<Hit> best) {
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::distance));
+        List<NearbyReport> result = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            result.add(new NearbyReport(hit.report(), hit.distance()));
+        }
+        return result;
+    }
+
+    private void scanCell(int latIdx, int lngIdx, double lat, double lng, double radius, int k,
+            Predicate<ReportSummary> filter, PriorityQueue<Hit> best) {
+        Map<Long, ReportSummary> cell = cells.get(cellKey(latIdx, lngIdx));
+        if (cell != null)
+            scan(cell.values(), lat, lng, radius, k, filter, best);
+    }
+
+    private static void scan(Collection<ReportSummary> reports, double lat, double lng, double radius, int k,
+            Predicate<ReportSummary> filter, PriorityQueue<Hit> best) {
+        for (ReportSummary report : reports) {
+            double d = GeoUtils.haversineDistance(lat, lng, report.getLatitude(), report.getLongitude());
+            if (d > radius || (filter != null && !filter.test(report)))
+                continue;
+            if (best.size() < k) {
+                best.add(new Hit(report, d));
+            } else if (d < best.peek().distance()) {
+                best.poll();
+                best.add(new Hit(report, d));
+            }
+        }
+    }
+
+    private void removeFromCell(long cell, Long id) {
+        cells.computeIfPresent(cell, (key, members) -> {
+            members.remove(id);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private int latIndex(double lat) {
+        return (int) Math.floor((lat + 90) / cellDegrees);
+    }
+
+    private int lngIndex(double lng) {
+        return Math.floorMod((int) Math.floor((lng + 180) / cellDegrees), lngCells);
+    }
+
+    private long cellKey(double lat, double lng) {
+        return cellKey(latIndex(lat), lngIndex(lng));
+    }
+
+    private static long cellKey(int latIdx, int lngIdx) {
+        return ((long) latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+
+    private record Hit(ReportSummary report, double distance) {
+    }
+}
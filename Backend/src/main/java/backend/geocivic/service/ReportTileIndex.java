@@ -0,0 +1,253 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.MapCluster;
+import backend.geocivic.dto.ReportSummary;
+import backend.geocivic.repository.ReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ReportTileIndex — pre-clustered report counts for the city map.
+ *
+ * Uses the standard Web-Mercator tile pyramid (the same x/y/zoom scheme as
+ * OpenStreetMap tiles). Every report adds one to the cell that contains it at
+ * every level from 0 to {@code reports.map.max-level}, so a cell at any level
+ * already knows its count, centroid and status/category breakdown.
+ *
+ * A viewport query enumerates the cells covering the bounding box at one
+ * level, which is bounded by the screen size and never by the number of
+ * reports. Deeper zooms reuse the cells of the deepest level; the map switches
+ * to individual markers (/api/reports/nearby) long before that matters.
+ *
+ * Cells keep their status/category breakdown as small int arrays indexed by
+ * a shared label list (seeded with the statuses and categories the app uses,
+ * extended if another one turns up), so a cell costs a few dozen bytes rather
+ * than two hash maps. Writes move a report's contribution from its old cells
+ * to its new ones; the index is rebuilt from the database once the
+ * application is ready.
+ */
+@Component
+public class ReportTileIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportTileIndex.class);
+
+    /** Upper bound on cells returned by one viewport query. */
+    public static final int MAX_CELLS = 4096;
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+
+    private final ReportRepository reportRepository;
+    private final int maxLevel;
+    private final int clusterDetail;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Point> points = new HashMap<>();
+    private final Labels statuses = new Labels("Open", "Pending", "Progress", "In Progress",
+            "PendingVerification", "Resolved");
+    private final Labels categories = new Labels("Roads", "Waste Management", "Street Lighting",
+            "Water Leakage", "Public Parks");
+
+    public ReportTileIndex(ReportRepository reportRepository,
+            @Value("${reports.map.max-level:16}") int maxLevel,
+            @Value("${reports.map.cluster-detail:3}") int clusterDetail) {
+        this.reportRepository = reportRepository;
+        this.maxLevel = Math.min(maxLevel, 24);
+        this.clusterDetail = clusterDetail;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            points.clear();
+            for (ReportSummary report : reportRepository.findAllSummaries()) {
+                putLocked(report);
+            }
+            log.info("ReportTileIndex: clustered {} reports into {} cells", points.size(), cells.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds, moves or re-labels a report. Reports without coordinates are dropped. */
+    public void put(ReportSummary report) {
+        lock.writeLock().lock();
+        try {
+            putLocked(report);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clusters inside a bounding box for a map displayed at {@code zoom}.
+     * Each displayed 256px tile is split into 2^cluster-detail cells per side;
+     * the level is lowered if the box would otherwise need more than
+     * {@link #MAX_CELLS} cells.
+     */
+    public List<MapCluster> clusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        int level = Math.max(0, Math.min(zoom + clusterDetail, maxLevel));
+        while (level > 0 && cellCount(minLat, minLng, maxLat, maxLng, level) > MAX_CELLS) {
+            level--;
+        }
+        return collect(level, tileX(minLng, level), tileX(maxLng, level), tileY(maxLat, level), tileY(minLat, level));
+    }
+
+    /** Clusters inside one map tile z/x/y (the slippy-map tile addressing). */
+    public List<MapCluster> tile(int z, int x, int y) {
+        if (z < 0 || z > 24)
+            return List.of();
+        if (z > maxLevel) {
+            // The tile lies inside one cell of the deepest level
+            int shift = z - maxLevel;
+            return collect(maxLevel, x >> shift, x >> shift, y >> shift, y >> shift);
+        }
+        int level = Math.min(z + clusterDetail, maxLevel);
+        int shift = level - z;
+        return collect(level, x << shift, ((x + 1) << shift) - 1, y << shift, ((y + 1) << shift) - 1);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private List<MapCluster> collect(int level, int x0, int x1, int y0, int y1) {
+        List<MapCluster> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int x = x0; x <= x1; x++) {
+                for (int y = y0; y <= y1; y++) {
+                    Cell cell = cells.get(key(level, x, y));
+                    if (cell != null)
+                        result.add(cell.toCluster(level, x, y, statuses, categories));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void putLocked(ReportSummary report) {
+        Point previous = points.remove(report.getId());
+        if (previous != null)
+            apply(previous, -1);
+        if (report.getLatitude() == null || report.getLongitude() == null)
+            return;
+        Point current = new Point(report.getLatitude(), report.getLongitude(),
+                statuses.indexOf(report.getStatus()), categories.indexOf(report.getCategory()));
+        points.put(report.getId(), current);
+        apply(current, 1);
+    }
+
+    private void apply(Point p, int delta) {
+        for (int level = 0; level <= maxLevel; level++) {
+            long key = key(level, tileX(p.lng(), level), tileY(p.lat(), level));
+            Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+            cell.add(p, delta);
+            if (cell.count == 0)
+                cells.remove(key);
+        }
+    }
+
+    private long cellCount(double minLat, double minLng, double maxLat, double maxLng, int level) {
+        long w = (long) tileX(maxLng, level) - tileX(minLng, level) + 1;
+        long h = (long) tileY(minLat, level) - tileY(maxLat, level) + 1;
+        return w * h;
+    }
+
+    private static int tileX(double lng, int level) {
+        int n = 1 << level;
+        int x = (int) Math.floor((lng + 180) / 360 * n);
+        return Math.max(0, Math.min(x, n - 1));
+    }
+
+    private static int tileY(double lat, int level) {
+        int n = 1 << level;
+        double latRad = Math.toRadians(Math.max(-MAX_MERCATOR_LAT, Math.min(lat, MAX_MERCATOR_LAT)));
+        int y = (int) Math.floor((1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2 * n);
+        return Math.max(0, Math.min(y, n - 1));
+    }
+
+    /** Packs level (5 bits) and x / y (up to 29 bits each) into one key. */
+    private static long key(int level, int x, int y) {
+        return ((long) level << 58) | ((long) x << 29) | y;
+    }
+
+    /** Status and category are indexes into {@link #statuses} / {@link #categories}, or -1. */
+    private record Point(double lat, double lng, int status, int category) {
+    }
+
+    /** Label ↔ index dictionary; only grown under the write lock. */
+    private static class Labels {
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> index = new HashMap<>();
+
+        Labels(String... known) {
+            for (String name : known)
+                indexOf(name);
+        }
+
+        int indexOf(String name) {
+            if (name == null)
+                return -1;
+            return index.computeIfAbsent(name, n -> {
+                names.add(n);
+                return names.size() - 1;
+            });
+        }
+
+        String name(int i) {
+            return names.get(i);
+        }
+    }
+
+    /** Running totals for one cell. */
+    private static class Cell {
+        private static final int[] NONE = new int[0];
+
+        long count;
+        double sumLat;
+        double sumLng;
+        int[] byStatus = NONE;
+        int[] byCategory = NONE;
+
+        void add(Point p, int delta) {
+            count += delta;
+            sumLat += delta * p.lat();
+            sumLng += delta * p.lng();
+            byStatus = bump(byStatus, p.status(), delta);
+            byCategory = bump(byCategory, p.category(), delta);
+        }
+
+        MapCluster toCluster(int level, int x, int y, Labels statuses, Labels categories) {
+            return new MapCluster(level, x, y, count, sumLat / count, sumLng / count,
+                    toMap(byStatus, statuses), toMap(byCategory, categories));
+        }
+
+        private static int[] bump(int[] counts, int i, int delta) {
+            if (i < 0)
+                return counts;
+            if (i >= counts.length)
+                counts = Arrays.copyOf(counts, i + 1);
+            counts[i] += delta;
+            return counts;
+        }
+
+        private static Map<String, Long> toMap(int[] counts, Labels labels) {
+            Map<String, Long> map = new HashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0)
+                    map.put(labels.name(i), (long) counts[i]);
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package backend.geocivic.service;
+
+import backend.geocivic.model.Report;
+import backend.geocivic.model.ReportVote;
+import backend.geocivic.model.User;
+import backend.geocivic.repository.ReportRepository;
+import backend.geocivic.repository.ReportVoteRepository;
+import backend.geocivic.util.LongBloomFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ReportVoteService — records an upvote without a read-modify-write on the report.
+ *
+ * One short transaction inserts the vote row and then runs
+ * "UPDATE reports SET upvote_count = upvote_count + 1", so concurrent votes on
+ * the same report never lose increments and the row lock is held only for the
+ * single-column update. A second vote by the same citizen is rejected by the
+ * (report_id, user_id) unique constraint instead of a lookup beforehand.
+ *
+ * A Bloom filter of (reportId, userId) pairs, warmed from report_votes at
+ * startup, lets almost every first-time vote go straight to the insert; only
+ * pairs the filter says may have voted are checked with an indexed lookup, so
+ * a repeat vote is answered without a failed insert and rollback. The filter
+ * is only a hint — a pair it misses (e.g. while it is being rebuilt) still
+ * hits the unique constraint.
+ */
+@Service
+public class ReportVoteService {
+
+    public enum Outcome {
+        RECORDED, ALREADY_VOTED, NOT_FOUND
+    }
+
+    /** The outcome, and for RECORDED the report reloaded with its new count. */
+    public record VoteResult(Outcome outcome, Report report) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ReportVoteService.class);
+
+    private final ReportRepository reportRepository;
+    private final ReportVoteRepository reportVoteRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double falsePositiveRate;
+
+    private volatile LongBloomFilter voters;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ReportVoteService(ReportRepository reportRepository, ReportVoteRepository reportVoteRepository,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${reports.votes.filter.expected-votes:1000000}") long expectedVotes,
+            @Value("${reports.votes.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.reportRepository = reportRepository;
+        this.reportVoteRepository = reportVoteRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.falsePositiveRate = falsePositiveRate;
+        this.voters = new LongBloomFilter(expectedVotes, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Long rows = jdbcTemplate.queryForObject("select count(*) from report_votes", Long.class);
+        long existing = rows != null ? rows : 0;
+        // Size for the existing votes with room for as many again
+        if (existing * 2 > voters.capacity())
+            rebuild(existing * 2);
+        else
+            load(voters);
+        log.info("ReportVoteService: voter filter warmed with {} votes", existing);
+    }
+
+    public VoteResult vote(Long reportId, Long userId) {
+        long key = pairKey(reportId, userId);
+        if (voters.mightContain(key) && reportVoteRepository.existsByReportIdAndUserId(reportId, userId))
+            return new VoteResult(Outcome.ALREADY_VOTED, null);
+
+        VoteResult result = insertVote(reportId, userId);
+        if (result.outcome() != Outcome.NOT_FOUND)
+            remember(key);
+        return result;
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private VoteResult insertVote(Long reportId, Long userId) {
+        try {
+            return transactionTemplate.execute(status -> {
+                // References only: the foreign keys check existence, nothing is read
+                reportVoteRepository.saveAndFlush(new ReportVote(
+                        entityManager.getReference(Report.class, reportId),
+                        entityManager.getReference(User.class, userId)));
+                if (reportRepository.incrementUpvotes(reportId) == 0) {
+                    status.setRollbackOnly();
+                    return new VoteResult(Outcome.NOT_FOUND, null);
+                }
+                Report report = entityManager.find(Report.class, reportId);
+                entityManager.refresh(report);
+                return new VoteResult(Outcome.RECORDED, report);
+            });
+        } catch (DataIntegrityViolationException e) {
+            return new VoteResult(isDuplicate(e) ? Outcome.ALREADY_VOTED : Outcome.NOT_FOUND, null);
+        }
+    }
+
+    /** A unique-key violation is a repeat vote; a foreign-key one means no such report or user. */
+    private boolean isDuplicate(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve)
+                return cve.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+        }
+        return false;
+    }
+
+    private void remember(long key) {
+        LongBloomFilter filter = voters;
+        filter.put(key);
+        // Past its sizing the false-positive rate climbs; rebuild at twice the size
+        if (filter.isSaturated() && rebuilding.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("voter-filter-rebuild").start(() -> {
+                try {
+                    rebuild(filter.insertions() * 2);
+                } catch (RuntimeException e) {
+                    log.warn("ReportVoteService: voter filter rebuild failed", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    /** Fills a new filter of the given capacity from report_votes and swaps it in. */
+    private void rebuild(long capacity) {
+        LongBloomFilter filter = new LongBloomFilter(capacity, falsePositiveRate);
+        load(filter);
+        voters = filter;
+    }
+
+    private void load(LongBloomFilter filter) {
+        jdbcTemplate.query("select report_id, user_id from report_votes",
+                (RowCallbackHandler) rs -> filter.put(pairKey(rs.getLong(1), rs.getLong(2))));
+    }
+
+    private static long pairKey(long reportId, long userId) {
+        return reportId * 0x9E3779B97F4A7C15L + userId;
+    }
+}
@@ -0,0 +1,73 @@
+package backend.geocivic.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ResourceVersions — in-memory change counters used as ETags for polled
+ * endpoints.
+ *
+ * Every write bumps the counter of the resource it touched; GET handlers
+ * compare the client's If-None-Match against the current counter before
+ * touching the database, so an unchanged poll is answered with a 304 from
+ * memory. A random per-process epoch is baked into every ETag so counters
+ * that restart from zero after a reboot never match an old ETag.
+ */
+@Component
+public class ResourceVersions {
+
+    private static final String ALL_REPORTS = "reports";
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // ── Reports ───────────────────────────────────────────────────────────────
+
+    /** A report was created or changed: its detail and every report list are stale. */
+    public void reportChanged(Long reportId) {
+        bump("report:" + reportId);
+        bump(ALL_REPORTS);
+    }
+
+    public String reportETag(Long reportId) {
+        return etag("report:" + reportId);
+    }
+
+    /** ETag shared by all report list endpoints. */
+    public String reportListETag() {
+        return etag(ALL_REPORTS);
+    }
+
+    // ── Users & notifications ─────────────────────────────────────────────────
+
+    public void userChanged(Long userId) {
+        bump("user:" + userId);
+    }
+
+    public String userETag(Long userId) {
+        return etag("user:" + userId);
+    }
+
+    public void notificationsChanged(Long userId) {
+        bump("notifications:" + userId);
+    }
+
+    public String notificationsETag(Long userId) {
+        return etag("notifications:" + userId);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void bump(String key) {
+        versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private String etag(String key) {
+        AtomicLong version = versions.get(key);
+        return "W/\"" + epoch + "-" + (version != null ? version.get() : 0) + "\"";
+    }
+}
@@ -0,0 +1,52 @@
+package backend.geocivic.service;
+
+import backend.geocivic.repository.NotificationRepository;
+import backend.geocivic.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counters.
+ *
+ * A counter is loaded with one COUNT query the first time a user's badge is
+ * asked for; from then on committed inserts and read-marking UPDATEs adjust
+ * it in memory. Callers only report changes once they have committed.
+ * Adjustments to a counter that is not loaded are dropped, and cancel any
+ * COUNT still running, since it may predate the change. Counters expire
+ * after {@code notifications.unread.ttl-seconds}, so any drift from a race
+ * between a load and an adjustment is re-counted away.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+    private final BoundedCache<Long, AtomicLong> unreadByUser;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+            @Value("${notifications.unread.max-users:10000}") int maxUsers,
+            @Value("${notifications.unread.ttl-seconds:300}") long ttlSeconds) {
+        this.notificationRepository = notificationRepository;
+        this.unreadByUser = new BoundedCache<>("unread-counts", maxUsers, ttlSeconds * 1000);
+    }
+
+    public long get(Long userId) {
+        return unreadByUser
+                .get(userId, id -> new AtomicLong(notificationRepository.countByUserIdAndIsReadFalse(id)))
+                .get();
+    }
+
+    public void adjust(Long userId, long delta) {
+        AtomicLong count = unreadByUser.getIfPresent(userId);
+        if (count != null)
+            count.updateAndGet(n -> Math.max(0, n + delta));
+        else
+            unreadByUser.invalidate(userId);
+    }
+
+    /** Drops the counter; the next {@link #get} counts again. */
+    public void evict(Long userId) {
+        unreadByUser.invalidate(userId);
+    }
+}
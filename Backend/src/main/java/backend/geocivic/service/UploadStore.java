@@ -0,0 +1,313 @@
+package backend.geocivic.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * UploadStore — content-addressed storage for report photos.
+ *
+ * An upload is streamed once to a temp file while its SHA-256 is computed,
+ * then stored as "uploads/&lt;digest&gt;.&lt;ext&gt;" (the extension comes from
+ * the file's magic bytes, so identical bytes always get the same name). If
+ * that file already exists the temp copy is simply dropped, so repeated
+ * uploads of the same photo cost no extra disk — and its thumbnails are
+ * reused too.
+ *
+ * stored_uploads counts how many Report.imagePath / proofImagePath values
+ * point at each file; {@link #release} deletes the file and its variants once
+ * nothing does. Store and release of the same name are serialised on a
+ * striped lock so a release can never delete a file a concurrent upload has
+ * just deduplicated against. Counts are reconciled against the reports table
+ * at startup.
+ */
+@Service
+public class UploadStore {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadStore.class);
+
+    public static final String URL_PREFIX = "/uploads/";
+    public static final Path UPLOAD_DIR = Paths.get("./uploads");
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,5}");
+    private static final String[] VARIANT_SUFFIXES = { "_thumb.jpg", "_medium.jpg" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Object[] locks = new Object[64];
+
+    @Value("${uploads.migrate-legacy:true}")
+    private boolean migrateLegacy;
+
+    public UploadStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Stores the upload (or finds the identical file already stored), counts
+     * one more reference to it and returns its URL path.
+     */
+    public String store(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return store(in, file.getOriginalFilename(), true);
+        }
+    }
+
+    /** Stores a file the server produced (e.g. a shrunk original); counts one reference. */
+    public String store(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return store(in, file.getFileName().toString(), true);
+        }
+    }
+
+    /** Drops one reference; the file and its variants are deleted when none remain. */
+    public void release(String path) {
+        String name = contentAddressedName(path);
+        if (name == null)
+            return; // legacy upload, not tracked
+        synchronized (lockFor(name)) {
+            jdbcTemplate.update("update stored_uploads set ref_count = ref_count - 1 where path = ? and ref_count > 0",
+                    path);
+            if (jdbcTemplate.update("delete from stored_uploads where path = ? and ref_count = 0", path) > 0)
+                deleteFiles(name);
+        }
+    }
+
+    /** Maps "/uploads/name" to the file under the upload directory, or null for anything outside it. */
+    public static Path resolve(String path) {
+        if (path == null || !path.startsWith(URL_PREFIX))
+            return null;
+        Path base = UPLOAD_DIR.toAbsolutePath().normalize();
+        Path file = base.resolve(path.substring(URL_PREFIX.length())).normalize();
+        return file.startsWith(base) && !file.equals(base) ? file : null;
+    }
+
+    /**
+     * Runs before the ApplicationReady listeners (image backfill, read models)
+     * so they already see the final paths.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void startup() {
+        if (migrateLegacy)
+            migrateLegacyUploads();
+        reconcileReferenceCounts();
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /**
+     * Streams the content into storage. With {@code countReference} false the
+     * row is only created (count 0, never referenced) and left for
+     * {@link #reconcileReferenceCounts} to count.
+     */
+    private String store(InputStream in, String originalName, boolean countReference) throws IOException {
+        Files.createDirectories(UPLOAD_DIR);
+        Path tmp = Files.createTempFile(UPLOAD_DIR, "upload-", ".tmp");
+        try {
+            MessageDigest sha256 = sha256();
+            byte[] head = new byte[16];
+            int headLength = 0;
+            long size = 0;
+            byte[] buffer = new byte[64 * 1024];
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    if (headLength < head.length) {
+                        int take = Math.min(n, head.length - headLength);
+                        System.arraycopy(buffer, 0, head, headLength, take);
+                        headLength += take;
+                    }
+                    sha256.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                    size += n;
+                }
+            }
+            String name = HexFormat.of().formatHex(sha256.digest()) + "."
+                    + extension(Arrays.copyOf(head, headLength), originalName);
+            String path = URL_PREFIX + name;
+            synchronized (lockFor(name)) {
+                Path target = UPLOAD_DIR.resolve(name);
+                if (!Files.exists(target))
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                if (countReference) {
+                    jdbcTemplate.update("insert into stored_uploads "
+                            + "(path, size_bytes, ref_count, created_at, last_referenced_at) "
+                            + "values (?, ?, 1, now(), now()) "
+                            + "on duplicate key update ref_count = ref_count + 1, last_referenced_at = now()",
+                            path, size);
+                } else {
+                    jdbcTemplate.update("insert ignore into stored_uploads (path, size_bytes, ref_count, created_at) "
+                            + "values (?, ?, 0, now())", path, size);
+                }
+            }
+            return path;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Moves files saved under the old "UUID_originalName" scheme into content-
+     * addressed storage: identical files collapse into one, reports are pointed
+     * at it (their variants are regenerated, or reused, by the image backfill)
+     * and the old copies are deleted.
+     */
+    private void migrateLegacyUploads() {
+        Map<String, String> migrated = new HashMap<>();
+        int updatedReports = 0;
+        for (String column : List.of("image_path", "proof_image_path")) {
+            String variantColumns = column.replace("_path", "_thumb_path") + " = null, "
+                    + column.replace("_path", "_medium_path") + " = null";
+            List<Object[]> rows = jdbcTemplate.query(
+                    "select id, " + column + " from reports where " + column + " like '/uploads/%'",
+                    (rs, i) -> new Object[] { rs.getLong(1), rs.getString(2) });
+            for (Object[] row : rows) {
+                String legacyPath = (String) row[1];
+                if (contentAddressedName(legacyPath) != null)
+                    continue;
+                String newPath = migrated.computeIfAbsent(legacyPath, this::storeLegacyFile);
+                if (newPath == null)
+                    continue;
+                updatedReports += jdbcTemplate.update("update reports set " + column + " = ?, " + variantColumns
+                        + " where id = ? and " + column + " = ?", newPath, row[0], legacyPath);
+            }
+        }
+        migrated.forEach((legacyPath, newPath) -> {
+            if (newPath != null)
+                deleteFiles(UploadStore.resolve(legacyPath).getFileName().toString());
+        });
+        if (updatedReports > 0)
+            log.info("UploadStore: moved {} legacy uploads into {} content-addressed files ({} report fields)",
+                    migrated.size(), new HashSet<>(migrated.values()).size(), updatedReports);
+    }
+
+    /** Stores a legacy file's content; returns its new path, or null if the file is gone. */
+    private String storeLegacyFile(String legacyPath) {
+        Path file = resolve(legacyPath);
+        if (file == null || !Files.isRegularFile(file))
+            return null;
+        try (InputStream in = Files.newInputStream(file)) {
+            return store(in, file.getFileName().toString(), false);
+        } catch (IOException e) {
+            log.warn("UploadStore: could not migrate {}", legacyPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Sets every count to the number of report fields that reference the file
+     * and deletes files nothing references. Rows touched since this JVM
+     * started are left alone: their report may still be being saved.
+     */
+    private void reconcileReferenceCounts() {
+        Timestamp bootTime = Timestamp.valueOf(LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()), ZoneId.systemDefault()));
+        jdbcTemplate.update("update stored_uploads s set ref_count = "
+                + "(select count(*) from reports r where r.image_path = s.path) "
+                + "+ (select count(*) from reports r where r.proof_image_path = s.path) "
+                + "where s.last_referenced_at is null or s.last_referenced_at < ?", bootTime);
+        List<String> orphans = jdbcTemplate.queryForList(
+                "select path from stored_uploads where ref_count = 0 and "
+                        + "(last_referenced_at is null or last_referenced_at < ?)",
+                String.class, bootTime);
+        for (String path : orphans) {
+            String name = contentAddressedName(path);
+            synchronized (lockFor(name != null ? name : path)) {
+                if (jdbcTemplate.update("delete from stored_uploads where path = ? and ref_count = 0", path) > 0
+                        && name != null)
+                    deleteFiles(name);
+            }
+        }
+        if (!orphans.isEmpty())
+            log.info("UploadStore: removed {} unreferenced uploads", orphans.size());
+    }
+
+    private void deleteFiles(String name) {
+        Path original = UPLOAD_DIR.resolve(name);
+        String stem = name.contains(".") ? name.substring(0, name.lastIndexOf('.')) : name;
+        try {
+            Files.deleteIfExists(original);
+            for (String suffix : VARIANT_SUFFIXES) {
+                Files.deleteIfExists(UPLOAD_DIR.resolve(stem + suffix));
+            }
+        } catch (IOException e) {
+            log.warn("UploadStore: could not delete {}", original, e);
+        }
+    }
+
+    private static String contentAddressedName(String path) {
+        if (path == null || !path.startsWith(URL_PREFIX))
+            return null;
+        String name = path.substring(URL_PREFIX.length());
+        return CONTENT_ADDRESSED.matcher(name).matches() ? name : null;
+    }
+
+    private Object lockFor(String name) {
+        return locks[Math.floorMod(name.hashCode(), locks.length)];
+    }
+
+    /** File type from magic bytes; falls back to the client's extension. */
+    private static String extension(byte[] head, String originalName) {
+        if (startsWith(head, 0xFF, 0xD8, 0xFF))
+            return "jpg";
+        if (startsWith(head, 0x89, 'P', 'N', 'G'))
+            return "png";
+        if (startsWith(head, 'G', 'I', 'F', '8'))
+            return "gif";
+        if (head.length >= 12 && startsWith(head, 'R', 'I', 'F', 'F')
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P')
+            return "webp";
+        if (head.length >= 12 && head[4] == 'f' && head[5] == 't' && head[6] == 'y' && head[7] == 'p') {
+            String brand = new String(head, 8, 4, java.nio.charset.StandardCharsets.US_ASCII);
+            if (brand.startsWith("hei") || brand.startsWith("hev") || brand.equals("mif1"))
+                return "heic";
+        }
+        if (originalName != null && originalName.lastIndexOf('.') >= 0) {
+            String ext = originalName.substring(originalName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            if (ext.matches("[a-z0-9]{1,5}"))
+                return ext;
+        }
+        return "bin";
+    }
+
+    private static boolean startsWith(byte[] head, int... magic) {
+        if (head.length < magic.length)
+            return false;
+        for (int i = 0; i < magic.length; i++) {
+            if ((head[i] & 0xFF) != magic[i])
+                return false;
+        }
+        return true;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
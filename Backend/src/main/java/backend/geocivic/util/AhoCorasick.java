@@ -0,0 +1,126 @@
+package backend.geocivic.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Finds every occurrence of a fixed set of strings in one left-to-right pass,
+ * whatever the number of strings (Aho–Corasick).
+ *
+ * Built once from the patterns into a trie with failure links; each node's
+ * transitions are a sorted char array searched by bisection, and each node
+ * points at the nearest node on its failure chain that ends a pattern, so
+ * reporting matches never walks nodes that don't. Immutable and thread-safe
+ * once built.
+ */
+public class AhoCorasick {
+
+    /** Receives each occurrence as it is found (ordered by end position). */
+    @FunctionalInterface
+    public interface MatchHandler {
+        void onMatch(int pattern, int start, int end);
+    }
+
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] fail;
+    /** Next node on the failure chain (excluding this one) that ends a pattern, or -1. */
+    private final int[] outputLink;
+    /** Pattern ending exactly at the node, or -1. */
+    private final int[] pattern;
+    private final int[] patternLengths;
+
+    /** @param patterns non-empty strings; index i is reported as pattern i. Duplicates keep the first index. */
+    public AhoCorasick(List<String> patterns) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(-1);
+        patternLengths = new int[patterns.size()];
+        for (int i = 0; i < patterns.size(); i++) {
+            String p = patterns.get(i);
+            if (p.isEmpty())
+                throw new IllegalArgumentException("Empty pattern at index " + i);
+            patternLengths[i] = p.length();
+            int node = 0;
+            for (int c = 0; c < p.length(); c++) {
+                Integer next = trie.get(node).get(p.charAt(c));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(-1);
+                    trie.get(node).put(p.charAt(c), next);
+                }
+                node = next;
+            }
+            if (ends.get(node) < 0)
+                ends.set(node, i);
+        }
+
+        int size = trie.size();
+        labels = new char[size][];
+        targets = new int[size][];
+        pattern = new int[size];
+        for (int node = 0; node < size; node++) {
+            Map<Character, Integer> edges = trie.get(node);
+            labels[node] = new char[edges.size()];
+            targets[node] = new int[edges.size()];
+            int e = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                labels[node][e] = edge.getKey();
+                targets[node][e++] = edge.getValue();
+            }
+            pattern[node] = ends.get(node);
+        }
+
+        // Breadth-first, so a node's failure target is always finished before it
+        fail = new int[size];
+        outputLink = new int[size];
+        outputLink[0] = -1;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            outputLink[child] = -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int e = 0; e < labels[node].length; e++) {
+                char c = labels[node][e];
+                int child = targets[node][e];
+                int f = fail[node];
+                while (f != 0 && step(f, c) < 0)
+                    f = fail[f];
+                int target = step(f, c);
+                fail[child] = target >= 0 && target != child ? target : 0;
+                outputLink[child] = pattern[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /** Reports every occurrence of every pattern in {@code text}, overlapping ones included. */
+    public void scan(CharSequence text, MatchHandler handler) {
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = step(node, c)) < 0 && node != 0)
+                node = fail[node];
+            node = Math.max(next, 0);
+            for (int out = pattern[node] >= 0 ? node : outputLink[node]; out >= 0; out = outputLink[out]) {
+                int p = pattern[out];
+                handler.onMatch(p, i + 1 - patternLengths[p], i + 1);
+            }
+        }
+    }
+
+    private int step(int node, char c) {
+        int e = Arrays.binarySearch(labels[node], c);
+        return e >= 0 ? targets[node][e] : -1;
+    }
+}
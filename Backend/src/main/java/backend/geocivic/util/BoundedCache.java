@@ -0,0 +1,131 @@
+package backend.geocivic.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Small thread-safe LRU cache with an optional time-to-live and hit/miss
+ * counters.
+ *
+ * {@link #get(Object, Function)} is read-through: on a miss the loader runs
+ * outside the lock and its result is stored only if nothing was invalidated
+ * while it ran, so a slow load can never put back a value that a concurrent
+ * write has already replaced.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final Map<K, Entry<V>> entries;
+    /** Bumped on every invalidation; loads that overlap one are not stored. */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize   maximum number of entries; the least recently used is
+     *                  evicted beyond that.
+     * @param ttlMillis entry lifetime in milliseconds, or 0 for no expiry.
+     */
+    public BoundedCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** Returns the cached value, or null when absent or expired. Counts a hit or miss. */
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired()) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null)
+                entries.remove(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Returns the cached value or loads, stores and returns it. Null results
+     * are not cached.
+     */
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null)
+            return cached;
+        long stamp = invalidations.get();
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (entries) {
+                if (invalidations.get() == stamp)
+                    entries.put(key, new Entry<>(loaded, expiryFromNow()));
+            }
+        }
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, expiryFromNow()));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long h = hits.sum();
+        long m = misses.sum();
+        return new Stats(name, size, maxSize, h, m, evictions.sum(), h + m > 0 ? (double) h / (h + m) : 0);
+    }
+
+    private long expiryFromNow() {
+        return ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+
+    /** Point-in-time counters, serialised as-is by the metrics endpoint. */
+    public record Stats(String name, int size, int maxSize, long hits, long misses, long evictions,
+            double hitRate) {
+    }
+}
@@ -0,0 +1,88 @@
+package backend.geocivic.util;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Range and validator checks for serving static files (RFC 9110 §13–14),
+ * kept free of the servlet API so they can be tested on plain strings.
+ */
+public final class ByteRanges {
+
+    private ByteRanges() {
+    }
+
+    /**
+     * Parses a single "bytes=first-last", "bytes=first-" or "bytes=-suffix"
+     * range. Returns {first, last} clamped to the file, an empty array to serve
+     * the whole file (malformed or multi-range requests, which may be ignored),
+     * or null when the range lies entirely beyond the end.
+     */
+    public static long[] parse(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0)
+            return new long[0];
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0)
+            return new long[0];
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0)
+                    return null;
+                return new long[] { Math.max(0, length - suffix), length - 1 };
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start)
+                return new long[0];
+            if (start >= length)
+                return null;
+            return new long[] { start, Math.min(end, length - 1) };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    /**
+     * A Range is only honoured if If-Range, when present, still names this
+     * exact version: a strong ETag match, or the exact Last-Modified second.
+     */
+    public static boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange == null)
+            return true;
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/"))
+            return etagMatches(value, etag, false);
+        try {
+            long date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified / 1000 == date / 1000;
+        } catch (DateTimeParseException e) {
+            return false; // unparseable dates never match
+        }
+    }
+
+    /**
+     * True if the comma-separated ETag list names {@code etag}. Weak
+     * comparison (If-None-Match) also accepts "*" and W/ tags; strong
+     * comparison (If-Range) accepts neither.
+     */
+    public static boolean etagMatches(String header, String etag, boolean weak) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*"))
+                return weak;
+            if (tag.startsWith("W/")) {
+                if (!weak)
+                    continue;
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+package backend.geocivic.util;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal circuit breaker for calls to a remote dependency.
+ *
+ * CLOSED: calls go through; {@code failureThreshold} failures in a row open
+ * the circuit. OPEN: calls are refused without being attempted until
+ * {@code openMillis} have passed. HALF_OPEN: exactly one probe call is let
+ * through; its success closes the circuit, its failure opens it again for
+ * another full period.
+ *
+ * Callers ask {@link #tryAcquire()} before each call and report the outcome
+ * of every permit they get. A permit belongs to the state it was issued in:
+ * every state change starts a new generation, and outcomes of permits from an
+ * earlier one (a slow call from before the circuit opened) are ignored, so
+ * only the probe decides a HALF_OPEN circuit.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /** Permission for one call; hand it back to {@link #onSuccess} or {@link #onFailure}. */
+    public record Permit(long generation) {
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    // Guarded by "this"
+    private State state = State.CLOSED;
+    private long generation;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    private final LongAdder rejected = new LongAdder();
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    /** A permit if the call may be attempted; null means fail fast. */
+    public synchronized Permit tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis)
+            transition(State.HALF_OPEN);
+        boolean allowed = switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (probeInFlight)
+                    yield false;
+                probeInFlight = true;
+                yield true;
+            }
+        };
+        if (!allowed) {
+            rejected.increment();
+            return null;
+        }
+        return new Permit(generation);
+    }
+
+    public synchronized void onSuccess(Permit permit) {
+        if (permit.generation() != generation)
+            return;
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN)
+            transition(State.CLOSED);
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        if (permit.generation() != generation)
+            return;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            transition(State.OPEN);
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(name, state, consecutiveFailures,
+                state == State.CLOSED ? null : Instant.ofEpochMilli(openedAt), rejected.sum());
+    }
+
+    private void transition(State next) {
+        state = next;
+        generation++;
+        probeInFlight = false;
+    }
+
+    /** Point-in-time state, serialised as-is by the metrics endpoint. */
+    public record Snapshot(String name, State state, int consecutiveFailures, Instant openedAt, long rejected) {
+    }
+}
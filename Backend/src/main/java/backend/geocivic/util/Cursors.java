@@ -0,0 +1,45 @@
+package backend.geocivic.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+/**
+ * Opaque keyset-pagination cursors: the last row's key values joined with
+ * '|' and Base64url-encoded, e.g. "2025-01-31T10:15:30|4711". Callers parse
+ * the parts back into their own key types.
+ */
+public final class Cursors {
+
+    private Cursors() {
+    }
+
+    public static String encode(Object... parts) {
+        StringJoiner raw = new StringJoiner("|");
+        for (Object part : parts) {
+            raw.add(String.valueOf(part));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Splits a cursor into exactly {@code count} parts; the last part may
+     * itself contain '|'.
+     *
+     * @throws IllegalArgumentException if the cursor is not valid Base64url or
+     *                                  has fewer parts.
+     */
+    public static String[] decode(String cursor, int count) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        String[] parts = raw.split("\\|", count);
+        if (parts.length != count)
+            throw new IllegalArgumentException("Invalid cursor.");
+        return parts;
+    }
+}
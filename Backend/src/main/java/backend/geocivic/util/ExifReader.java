@@ -0,0 +1,402 @@
+package backend.geocivic.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Reads GPS position, capture time and orientation from a photo's EXIF block
+ * without decoding the image or buffering the file.
+ *
+ * JPEG: walks the marker segments from the start of the stream and stops at
+ * the APP1 "Exif" segment (usually within the first few KB) or at the start
+ * of the image data. HEIC: walks the top-level boxes, reads the "meta" box to
+ * find where the Exif item lives, skips forward to it and reads just that
+ * item. Anything else, or a malformed block, yields null.
+ */
+public final class ExifReader {
+
+    /** Refuse to buffer more than this for a metadata block. */
+    private static final int MAX_BLOCK_BYTES = 1 << 20;
+
+    private static final int TAG_EXIF_IFD = 0x8769;
+    private static final int TAG_GPS_IFD = 0x8825;
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TAG_DATE_TIME = 0x0132;
+    private static final int TAG_DATE_TIME_ORIGINAL = 0x9003;
+    private static final int TAG_GPS_LATITUDE_REF = 0x0001;
+    private static final int TAG_GPS_LATITUDE = 0x0002;
+    private static final int TAG_GPS_LONGITUDE_REF = 0x0003;
+    private static final int TAG_GPS_LONGITUDE = 0x0004;
+
+    private static final DateTimeFormatter EXIF_DATE = DateTimeFormatter.ofPattern("yyyy:MM:dd HH:mm:ss");
+
+    /**
+     * What the photo says about itself; the position and time may be null.
+     * {@code orientation} is the EXIF value 1-8 (1 when absent): how the stored
+     * pixels must be rotated/flipped to be shown upright.
+     */
+    public record Metadata(Double latitude, Double longitude, LocalDateTime takenAt, int orientation) {
+        public boolean hasLocation() {
+            return latitude != null && longitude != null;
+        }
+    }
+
+    private ExifReader() {
+    }
+
+    /**
+     * Returns the photo's metadata, or null if it is not a JPEG/HEIC or
+     * carries no usable EXIF. Reads only as far into the stream as needed.
+     */
+    public static Metadata read(InputStream stream) throws IOException {
+        Source in = new Source(stream);
+        int first = in.readUnsignedShort();
+        byte[] tiff;
+        if (first == 0xFFD8) {
+            tiff = jpegExif(in);
+        } else {
+            // ISO base media: the first box size (high half already read), then "ftyp"
+            long size = ((long) first << 16) | in.readUnsignedShort();
+            if (in.readInt() != fourcc("ftyp") || size < 8)
+                return null;
+            in.skip(size - 8);
+            tiff = heifExif(in);
+        }
+        return tiff != null ? parseTiff(tiff) : null;
+    }
+
+    // ── JPEG ──────────────────────────────────────────────────────────────────
+
+    private static byte[] jpegExif(Source in) throws IOException {
+        while (true) {
+            int marker = in.readUnsignedByte();
+            if (marker != 0xFF)
+                return null; // not at a marker: corrupt
+            while (marker == 0xFF)
+                marker = in.readUnsignedByte(); // fill bytes
+            if (marker == 0xDA || marker == 0xD9)
+                return null; // image data (or end) reached without EXIF
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7))
+                continue; // standalone markers carry no length
+            int length = in.readUnsignedShort() - 2;
+            if (length < 0)
+                return null;
+            if (marker == 0xE1 && length > 6) {
+                byte[] segment = in.readFully(length);
+                if (startsWith(segment, "Exif\0\0"))
+                    return Arrays.copyOfRange(segment, 6, segment.length);
+            } else {
+                in.skip(length);
+            }
+        }
+    }
+
+    // ── HEIC / HEIF ───────────────────────────────────────────────────────────
+
+    /** Called right after the ftyp box. */
+    private static byte[] heifExif(Source in) throws IOException {
+        while (true) {
+            long start = in.position();
+            long size = in.readInt() & 0xFFFFFFFFL;
+            int type = in.readInt();
+            long header = 8;
+            if (size == 1) {
+                size = in.readLong();
+                header = 16;
+            }
+            if (type != fourcc("meta")) {
+                if (size < header)
+                    return null; // size 0 ("to end of file") or corrupt: no meta before the image data
+                in.skip(size - header);
+                continue;
+            }
+            if (size < header || size - header > MAX_BLOCK_BYTES)
+                return null;
+            long[] extent = exifExtent(ByteBuffer.wrap(in.readFully((int) (size - header))));
+            if (extent == null || extent[0] < start + size || extent[1] > MAX_BLOCK_BYTES || extent[1] < 4)
+                return null; // no Exif item, or it precedes what we have already streamed past
+            in.skip(extent[0] - in.position());
+            ByteBuffer item = ByteBuffer.wrap(in.readFully((int) extent[1]));
+            // The item starts with the offset of the TIFF header within the rest of it
+            int tiffOffset = 4 + item.getInt();
+            if (tiffOffset < 4 || tiffOffset >= item.capacity())
+                return null;
+            return Arrays.copyOfRange(item.array(), tiffOffset, item.capacity());
+        }
+    }
+
+    /** {file offset, length} of the Exif item, from the meta box's iinf and iloc. */
+    private static long[] exifExtent(ByteBuffer meta) {
+        try {
+            meta.getInt(); // version and flags
+            long exifItem = -1;
+            ByteBuffer iloc = null;
+            while (meta.remaining() >= 8) {
+                int size = meta.getInt();
+                int type = meta.getInt();
+                if (size < 8 || size - 8 > meta.remaining())
+                    return null;
+                ByteBuffer box = meta.slice(meta.position(), size - 8);
+                meta.position(meta.position() + size - 8);
+                if (type == fourcc("iinf"))
+                    exifItem = exifItemId(box);
+                else if (type == fourcc("iloc"))
+                    iloc = box;
+            }
+            return exifItem >= 0 && iloc != null ? itemExtent(iloc, exifItem) : null;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    private static long exifItemId(ByteBuffer iinf) {
+        int version = iinf.get() & 0xFF;
+        iinf.position(4);
+        long entries = version == 0 ? iinf.getShort() & 0xFFFF : iinf.getInt() & 0xFFFFFFFFL;
+        for (long i = 0; i < entries && iinf.remaining() >= 8; i++) {
+            int size = iinf.getInt();
+            int type = iinf.getInt();
+            if (size < 8 || size - 8 > iinf.remaining())
+                return -1;
+            ByteBuffer infe = iinf.slice(iinf.position(), size - 8);
+            iinf.position(iinf.position() + size - 8);
+            if (type != fourcc("infe"))
+                continue;
+            int infeVersion = infe.get() & 0xFF;
+            infe.position(4);
+            if (infeVersion < 2)
+                continue; // no item type before version 2
+            long id = infeVersion == 2 ? infe.getShort() & 0xFFFF : infe.getInt() & 0xFFFFFFFFL;
+            infe.getShort(); // protection index
+            if (infe.getInt() == fourcc("Exif"))
+                return id;
+        }
+        return -1;
+    }
+
+    private static long[] itemExtent(ByteBuffer iloc, long itemId) {
+        int version = iloc.get() & 0xFF;
+        iloc.position(4);
+        int sizes = iloc.get() & 0xFF;
+        int offsetSize = sizes >> 4;
+        int lengthSize = sizes & 0x0F;
+        sizes = iloc.get() & 0xFF;
+        int baseOffsetSize = sizes >> 4;
+        int indexSize = version == 1 || version == 2 ? sizes & 0x0F : 0;
+        long items = version < 2 ? iloc.getShort() & 0xFFFF : iloc.getInt() & 0xFFFFFFFFL;
+        for (long i = 0; i < items; i++) {
+            long id = version < 2 ? iloc.getShort() & 0xFFFF : iloc.getInt() & 0xFFFFFFFFL;
+            int constructionMethod = version == 1 || version == 2 ? iloc.getShort() & 0x0F : 0;
+            iloc.getShort(); // data reference index
+            long baseOffset = sized(iloc, baseOffsetSize);
+            int extents = iloc.getShort() & 0xFFFF;
+            long firstOffset = 0;
+            long firstLength = 0;
+            for (int e = 0; e < extents; e++) {
+                sized(iloc, indexSize);
+                long offset = sized(iloc, offsetSize);
+                long length = sized(iloc, lengthSize);
+                if (e == 0) {
+                    firstOffset = offset;
+                    firstLength = length;
+                }
+            }
+            if (id == itemId)
+                // Only a single extent stored in the file itself is supported
+                return constructionMethod == 0 && extents == 1 ? new long[] { baseOffset + firstOffset, firstLength }
+                        : null;
+        }
+        return null;
+    }
+
+    private static long sized(ByteBuffer buffer, int bytes) {
+        return switch (bytes) {
+            case 0 -> 0;
+            case 4 -> buffer.getInt() & 0xFFFFFFFFL;
+            case 8 -> buffer.getLong();
+            default -> throw new IndexOutOfBoundsException("field size " + bytes);
+        };
+    }
+
+    // ── TIFF / EXIF ───────────────────────────────────────────────────────────
+
+    private static Metadata parseTiff(byte[] data) {
+        try {
+            ByteBuffer tiff = ByteBuffer.wrap(data);
+            if (startsWith(data, "II"))
+                tiff.order(ByteOrder.LITTLE_ENDIAN);
+            else if (!startsWith(data, "MM"))
+                return null;
+            if ((tiff.getShort(2) & 0xFFFF) != 42)
+                return null;
+
+            int ifd0 = tiff.getInt(4);
+            int exifIfd = (int) entryLong(tiff, ifd0, TAG_EXIF_IFD);
+            int gpsIfd = (int) entryLong(tiff, ifd0, TAG_GPS_IFD);
+
+            int orientation = orientation(tiff, ifd0);
+            LocalDateTime takenAt = exifIfd > 0 ? date(tiff, exifIfd, TAG_DATE_TIME_ORIGINAL) : null;
+            if (takenAt == null)
+                takenAt = date(tiff, ifd0, TAG_DATE_TIME);
+
+            Double latitude = null;
+            Double longitude = null;
+            if (gpsIfd > 0) {
+                latitude = coordinate(tiff, gpsIfd, TAG_GPS_LATITUDE, TAG_GPS_LATITUDE_REF, 'S', 90);
+                longitude = coordinate(tiff, gpsIfd, TAG_GPS_LONGITUDE, TAG_GPS_LONGITUDE_REF, 'W', 180);
+                // Cameras without a fix often write 0/0
+                if (latitude == null || longitude == null || (latitude == 0 && longitude == 0)) {
+                    latitude = null;
+                    longitude = null;
+                }
+            }
+            if (latitude == null && takenAt == null && orientation == 1)
+                return null;
+            return new Metadata(latitude, longitude, takenAt, orientation);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /** Position of the 12-byte IFD entry for {@code tag}, or -1. */
+    private static int entry(ByteBuffer tiff, int ifd, int tag) {
+        if (ifd <= 0)
+            return -1;
+        int count = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            int position = ifd + 2 + i * 12;
+            if ((tiff.getShort(position) & 0xFFFF) == tag)
+                return position;
+        }
+        return -1;
+    }
+
+    private static long entryLong(ByteBuffer tiff, int ifd, int tag) {
+        int entry = entry(tiff, ifd, tag);
+        return entry < 0 ? -1 : tiff.getInt(entry + 8) & 0xFFFFFFFFL;
+    }
+
+    /** Offset of an entry's value: inline when it fits in four bytes. */
+    private static int valueOffset(ByteBuffer tiff, int entry, int bytes) {
+        return bytes <= 4 ? entry + 8 : tiff.getInt(entry + 8);
+    }
+
+    private static Double coordinate(ByteBuffer tiff, int ifd, int tag, int refTag, char negative, double limit) {
+        int entry = entry(tiff, ifd, tag);
+        int ref = entry(tiff, ifd, refTag);
+        if (entry < 0 || ref < 0 || (tiff.getShort(entry + 2) & 0xFFFF) != 5 || tiff.getInt(entry + 4) != 3)
+            return null; // need three RATIONALs: degrees, minutes, seconds
+        int offset = valueOffset(tiff, entry, 24);
+        double value = 0;
+        for (int i = 0; i < 3; i++) {
+            long numerator = tiff.getInt(offset + i * 8) & 0xFFFFFFFFL;
+            long denominator = tiff.getInt(offset + i * 8 + 4) & 0xFFFFFFFFL;
+            if (denominator == 0)
+                return null;
+            value += (double) numerator / denominator / Math.pow(60, i);
+        }
+        if (value > limit)
+            return null;
+        return tiff.get(ref + 8) == negative ? -value : value;
+    }
+
+    /** The Orientation SHORT, or 1 (as stored) when missing or out of range. */
+    private static int orientation(ByteBuffer tiff, int ifd) {
+        int entry = entry(tiff, ifd, TAG_ORIENTATION);
+        if (entry < 0 || (tiff.getShort(entry + 2) & 0xFFFF) != 3)
+            return 1;
+        int value = tiff.getShort(entry + 8) & 0xFFFF;
+        return value >= 1 && value <= 8 ? value : 1;
+    }
+
+    private static LocalDateTime date(ByteBuffer tiff, int ifd, int tag) {
+        int entry = entry(tiff, ifd, tag);
+        if (entry < 0 || (tiff.getShort(entry + 2) & 0xFFFF) != 2)
+            return null;
+        int length = tiff.getInt(entry + 4);
+        if (length < 19 || length > 64)
+            return null;
+        byte[] text = new byte[19];
+        tiff.get(valueOffset(tiff, entry, length), text);
+        try {
+            return LocalDateTime.parse(new String(text, StandardCharsets.US_ASCII), EXIF_DATE);
+        } catch (DateTimeParseException e) {
+            return null; // e.g. "0000:00:00 00:00:00" or blanks
+        }
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private static int fourcc(String type) {
+        return ByteBuffer.wrap(type.getBytes(StandardCharsets.US_ASCII)).getInt();
+    }
+
+    private static boolean startsWith(byte[] data, String prefix) {
+        if (data.length < prefix.length())
+            return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (data[i] != prefix.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    /** Big-endian reader that knows how far into the file it is. */
+    private static final class Source {
+        private final DataInputStream in;
+        private long position;
+
+        Source(InputStream stream) {
+            this.in = new DataInputStream(new BufferedInputStream(stream, 8192));
+        }
+
+        long position() {
+            return position;
+        }
+
+        int readUnsignedByte() throws IOException {
+            position += 1;
+            return in.readUnsignedByte();
+        }
+
+        int readUnsignedShort() throws IOException {
+            position += 2;
+            return in.readUnsignedShort();
+        }
+
+        int readInt() throws IOException {
+            position += 4;
+            return in.readInt();
+        }
+
+        long readLong() throws IOException {
+            position += 8;
+            return in.readLong();
+        }
+
+        byte[] readFully(int length) throws IOException {
+            byte[] data = new byte[length];
+            in.readFully(data);
+            position += length;
+            return data;
+        }
+
+        void skip(long count) throws IOException {
+            if (count < 0)
+                throw new EOFException();
+            in.skipNBytes(count);
+            position += count;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package backend.geocivic.util;
+
+/**
+ * Small geo helpers shared by the controllers and the in-memory indexes.
+ */
+public final class GeoUtils {
+
+    /** Mean Earth radius in metres. */
+    public static final double EARTH_RADIUS_METERS = 6371000;
+
+    /** Length of one degree of latitude in metres (close enough everywhere). */
+    public static final double METERS_PER_DEGREE_LAT = 111320;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Haversine formula to compute distance in metres between two lat/lng points
+     */
+    public static double haversineDistance(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_METERS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /** Length of one degree of longitude in metres at the given latitude. */
+    public static double metersPerDegreeLng(double lat) {
+        return METERS_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(lat)), 1e-6);
+    }
+}
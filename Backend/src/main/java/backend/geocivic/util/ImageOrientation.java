@@ -0,0 +1,52 @@
+package backend.geocivic.util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Applies an EXIF Orientation value to decoded pixels, so images re-encoded
+ * without their metadata (variants, shrunk originals) still display upright.
+ *
+ * Values follow the EXIF/TIFF spec: 1 as stored, 2 mirrored, 3 rotated 180°,
+ * 4 flipped vertically, 5 transposed, 6 needs 90° clockwise, 7 transversed,
+ * 8 needs 90° counter-clockwise.
+ */
+public final class ImageOrientation {
+
+    private ImageOrientation() {
+    }
+
+    /** Returns the upright image; {@code src} itself for 1 or unknown values. */
+    public static BufferedImage apply(BufferedImage src, int orientation) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        // Maps stored pixel coordinates to upright ones (m00, m10, m01, m11, m02, m12)
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (transform == null)
+            return src;
+
+        boolean swap = orientation >= 5;
+        BufferedImage out = new BufferedImage(swap ? h : w, swap ? w : h,
+                src.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            // Quarter turns and flips map pixels one to one; no blending needed
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g.drawImage(src, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+}
@@ -0,0 +1,151 @@
+package backend.geocivic.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorted set that also answers "how many elements come before x" and "the
+ * first n elements" in O(log n) (+ n for the listing).
+ *
+ * A treap — a binary search tree kept balanced by random priorities — whose
+ * nodes carry their subtree size. Not thread-safe; callers guard it.
+ */
+public class OrderStatisticTree<T> {
+
+    private final Comparator<? super T> comparator;
+    private Node<T> root;
+
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    /** Adds the element; returns false if an equal one is already present. */
+    public boolean add(T value) {
+        int before = size();
+        root = insert(root, value);
+        return size() > before;
+    }
+
+    /** Removes the element; returns false if it was not present. */
+    public boolean remove(T value) {
+        int before = size();
+        root = delete(root, value);
+        return size() < before;
+    }
+
+    /** Number of elements strictly less than {@code value} (its 0-based index if present). */
+    public int countLessThan(T value) {
+        int count = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (comparator.compare(value, node.value) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /** The first {@code n} elements in order. */
+    public List<T> first(int n) {
+        List<T> out = new ArrayList<>(Math.max(0, Math.min(n, size())));
+        collect(root, n, out);
+        return out;
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private static final class Node<T> {
+        final T value;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node<T> left, right;
+        int size = 1;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <T> Node<T> update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private Node<T> insert(Node<T> node, T value) {
+        if (node == null)
+            return new Node<>(value);
+        int cmp = comparator.compare(value, node.value);
+        if (cmp == 0)
+            return node;
+        if (cmp < 0) {
+            node.left = insert(node.left, value);
+            if (node.left.priority > node.priority)
+                node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, value);
+            if (node.right.priority > node.priority)
+                node = rotateLeft(node);
+        }
+        return update(node);
+    }
+
+    private Node<T> delete(Node<T> node, T value) {
+        if (node == null)
+            return null;
+        int cmp = comparator.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, value);
+        } else {
+            if (node.left == null)
+                return node.right;
+            if (node.right == null)
+                return node.left;
+            // Rotate the higher-priority child up and keep deleting below it
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = delete(node.right, value);
+            } else {
+                node = rotateLeft(node);
+                node.left = delete(node.left, value);
+            }
+        }
+        return update(node);
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = update(node);
+        return update(pivot);
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = update(node);
+        return update(pivot);
+    }
+
+    private static <T> void collect(Node<T> node, int n, List<T> out) {
+        if (node == null || out.size() >= n)
+            return;
+        collect(node.left, n, out);
+        if (out.size() < n)
+            out.add(node.value);
+        collect(node.right, n, out);
+    }
+}
@@ -0,0 +1,45 @@
+package backend.geocivic.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cheap fuzzy text comparison based on character trigrams.
+ * Robust to word order, small typos and punctuation ("pot hole" vs "pothole!").
+ */
+public final class TextSimilarity {
+
+    private TextSimilarity() {
+    }
+
+    /** Lowercases and folds every run of non-alphanumeric characters into one space. */
+    public static String normalize(String text) {
+        if (text == null)
+            return "";
+        return text.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /** Set of 3-character shingles of the normalized text, padded at word edges. */
+    public static Set<String> trigrams(String text) {
+        String s = " " + normalize(text) + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            grams.add(s.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /** Jaccard similarity of the two trigram sets, from 0 (nothing shared) to 1. */
+    public static double similarity(String a, String b) {
+        Set<String> ga = trigrams(a);
+        Set<String> gb = trigrams(b);
+        if (ga.isEmpty() || gb.isEmpty())
+            return 0;
+        int shared = 0;
+        for (String g : ga) {
+            if (gb.contains(g))
+                shared++;
+        }
+        return (double) shared / (ga.size() + gb.size() - shared);
+    }
+}
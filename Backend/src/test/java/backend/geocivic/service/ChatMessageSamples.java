@@ -0,0 +1,43 @@
+package backend.geocivic.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random single-line chat messages built from the rule phrases, near misses
+ * ("this", "chi", "_hi") and filler, for comparing rule implementations.
+ */
+final class ChatMessageSamples {
+
+    private static final String[] WORDS = { "hi", "hello", "hey", "hola", "vanakam", "how", "to", "use", "does",
+            "this", "work", "geocivic", "what", "is", "explain", "guide", "me", "get", "started", "file", "submit",
+            "raise", "create", "report", "add", "complaint", "issue", "problem", "ticket", "status", "update",
+            "progress", "check", "geofence", "geo", "fence", "physical", "verification", "verify", "location",
+            "repair", "civic", "coins", "coin", "earn", "reward", "points", "redeem", "red", "open", "orange", "in",
+            "green", "resolved", "closed", "upvote", "vote", "support", "agent", "staff", "assigned", "who",
+            "handling", "notification", "alert", "thank", "thanks", "thx", "ty", "great", "awesome", "perfect",
+            "nice", "city", "the", "a", "?", "!", ".", "steps", "brief", "process", "overview", "help", "can", "you",
+            "do", "my", "please", "chi", "thin", "hiking", "Hello,", "HI", "Report", "STATUS", "ünï", "emptyy",
+            "_hi", "hi_", "hi-there" };
+
+    private ChatMessageSamples() {
+    }
+
+    /** One to six words, occasionally glued together without a space. */
+    static List<String> random(long seed, int count) {
+        Random random = new Random(seed);
+        List<String> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int words = 1 + random.nextInt(6);
+            StringBuilder message = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0 && random.nextInt(10) != 0)
+                    message.append(' ');
+                message.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            messages.add(message.toString());
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,58 @@
+package backend.geocivic.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule-based reply cost: the table-driven {@link ChatRuleEngine} against the
+ * {@link LegacyChatRules} if-chain, each answering the same 10,000 messages
+ * per invocation.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatRuleBenchmark {
+
+    private ChatRuleEngine engine;
+    private List<String> messages;
+
+    @Setup
+    public void setUp() throws IOException {
+        engine = new ChatRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:chat-rules.json");
+        messages = ChatMessageSamples.random(7, 10_000);
+    }
+
+    @Benchmark
+    public void legacyIfChain(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(LegacyChatRules.reply(message));
+        }
+    }
+
+    @Benchmark
+    public void ruleEngine(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(engine.reply(message));
+        }
+    }
+}
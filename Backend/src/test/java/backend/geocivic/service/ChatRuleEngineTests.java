@@ -0,0 +1,79 @@
+package backend.geocivic.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins chat-rules.json + ChatRuleEngine to the behaviour of the if-chain it
+ * replaced ({@link LegacyChatRules}).
+ */
+class ChatRuleEngineTests {
+
+    private static ChatRuleEngine engine;
+
+    @BeforeAll
+    static void loadRules() throws IOException {
+        engine = new ChatRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:chat-rules.json");
+    }
+
+    @Test
+    void matchesTheLegacyChainOnRandomMessages() {
+        for (String message : ChatMessageSamples.random(42, 100_000)) {
+            assertThat(engine.reply(message)).as(message).isEqualTo(LegacyChatRules.reply(message));
+        }
+    }
+
+    @Test
+    void firstMatchingRuleWins() {
+        // greeting before report, report before status, status before coins
+        assertSameAsLegacy("hi, how do i report a pothole", "Hello!");
+        assertSameAsLegacy("submit ticket status", "📝");
+        assertSameAsLegacy("check my ticket and earn coins", "🔍");
+        assertSameAsLegacy("resolved but want to vote", "🟢");
+    }
+
+    @Test
+    void wordRulesNeedWholeWords() {
+        assertSameAsLegacy("hi-there", "Hello!");
+        assertSameAsLegacy("HI", "Hello!");
+        assertSameAsLegacy("this thing", "I'm not sure");
+        assertSameAsLegacy("chi", "I'm not sure");
+        assertSameAsLegacy("_hi", "I'm not sure");
+    }
+
+    @Test
+    void sequenceRulesNeedTheirOrder() {
+        assertSameAsLegacy("add a problem", "📝");
+        assertSameAsLegacy("problem add", "I'm not sure");
+        assertSameAsLegacy("issue progress", "🔍");
+        // "report" may serve as both halves, but not overlapping itself
+        assertSameAsLegacy("report", "I'm not sure");
+        assertSameAsLegacy("report report", "📝");
+    }
+
+    @Test
+    void exactRulesMatchTheWholeMessageOnly() {
+        assertSameAsLegacy("?", "🤖");
+        assertSameAsLegacy("guide", "🏙️");
+        assertSameAsLegacy("guide book", "I'm not sure");
+    }
+
+    @Test
+    void multiLineMessagesNowMatchToo() {
+        // The legacy ".*" regexes never crossed a line break; the table has no such limit
+        String message = "hello\nthere";
+        assertThat(engine.reply(message)).startsWith("Hello!");
+        assertThat(LegacyChatRules.reply(message)).startsWith("I'm not sure");
+    }
+
+    private static void assertSameAsLegacy(String message, String expectedStart) {
+        assertThat(engine.reply(message)).as(message).startsWith(expectedStart)
+                .isEqualTo(LegacyChatRules.reply(message));
+    }
+}
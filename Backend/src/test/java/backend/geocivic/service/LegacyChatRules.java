@@ -0,0 +1,171 @@
+package backend.geocivic.service;
+
+/**
+ * The if-chain ChatService used for rule-based replies before
+ * {@link ChatRuleEngine}, copied verbatim. Kept only as the reference for
+ * ChatRuleEngineTests and the baseline for ChatRuleBenchmark.
+ */
+final class LegacyChatRules {
+
+    private LegacyChatRules() {
+    }
+
+    static String reply(String message) {
+        String m = message.toLowerCase();
+
+        // ── Greetings ─────────────────────────────────────────────────────────
+        if (m.matches(".*(\\bhi\\b|\\bhello\\b|\\bhey\\b|\\bhola\\b|\\bvanakam\\b).*")) {
+            return "Hello! 👋 I'm **GeoBot**, your GeoCivic assistant.\n\n" +
+                    "I can help you with:\n" +
+                    "• Checking your complaint/ticket status\n" +
+                    "• Understanding how GeoCivic works\n" +
+                    "• Civic Coins & Rewards\n" +
+                    "• Reporting an issue\n\n" +
+                    "Just ask me anything, or say **\"ticket #12\"** to check a specific complaint!";
+        }
+
+        // ── How to use the platform / general overview ────────────────────────
+        if (m.contains("how to use") || m.contains("how does this work") ||
+                m.contains("how does geocivic work") || m.contains("what is geocivic") ||
+                m.contains("explain this") || m.contains("guide me") ||
+                m.contains("get started") || m.contains("how to start") ||
+                m.contains("what can i do") || m.contains("how to use this") ||
+                m.contains("explain") || m.contains("how it works") ||
+                m.contains("how this works") || m.contains("how does it work") ||
+                m.contains("tell me about") || m.contains("overview") ||
+                m.contains("about this") || m.contains("about geocivic") ||
+                m.contains("what does this") || m.contains("what does geocivic") ||
+                m.contains("how the website") || m.contains("how the app") ||
+                m.contains("how the platform") || m.contains("generally") ||
+                m.contains("in simple") || m.contains("brief") ||
+                m.contains("steps") || m.contains("workflow") ||
+                m.contains("process") || m.contains("how does the website") ||
+                m.equals("explain") || m.equals("overview") || m.equals("guide")) {
+            return "🏙️ **Here's how GeoCivic works — in simple steps:**\n\n" +
+                    "**Step 1 — You report the problem** 📸\n" +
+                    "Take a photo of the issue (pothole, broken light, garbage, etc.) and submit it via **Add Report**. Your location is saved automatically.\n\n"
+                    +
+                    "**Step 2 — Admin reviews & assigns** 👨‍💼\n" +
+                    "An admin looks at your report and assigns it to the right staff member to handle it.\n\n" +
+                    "**Step 3 — Staff fixes it & uploads proof** 🔧\n" +
+                    "The staff member works on the issue and uploads a photo as proof that it's been resolved.\n\n" +
+                    "**Step 4 — You go there & verify** 📍\n" +
+                    "Once it's marked resolved, you visit the actual location. The app checks if you're physically nearby (**geofencing**). Only then can you click **Verify** to confirm the fix.\n\n"
+                    +
+                    "**Step 5 — Earn Civic Coins** 🪙\n" +
+                    "You earn coins for reporting and verifying. Collect them for rewards!\n\n" +
+                    "Ask me *\"how to report\"*, *\"check ticket status\"*, or *\"what are civic coins\"* to learn more!";
+        }
+
+        // ── How to file / submit a report ─────────────────────────────────────
+        if (m.matches(".*(file|submit|raise|create|report|add).*(complaint|report|issue|problem|ticket).*") ||
+                m.contains("how to report") || m.contains("how do i report")) {
+            return "📝 **How to File a Complaint on GeoCivic:**\n\n" +
+                    "1. Go to **Add Report** from the sidebar.\n" +
+                    "2. Enter a title and choose the **category** (Pothole, Garbage, etc.).\n" +
+                    "3. Upload a **geo-tagged photo** of the issue.\n" +
+                    "4. Your GPS location is captured automatically.\n" +
+                    "5. Submit — your complaint is instantly logged!\n\n" +
+                    "You can track it anytime from **My Reports**.";
+        }
+
+        // ── Ticket / complaint status ─────────────────────────────────────────
+        if (m.matches(".*(status|update|progress|check).*(ticket|complaint|report|issue).*") ||
+                m.matches(".*(ticket|complaint|report|issue).*(status|update|progress).*")) {
+            return "🔍 **To check your complaint status**, say something like:\n\n" +
+                    "  **\"What is the status of ticket #12?\"**\n\n" +
+                    "Here's what each status means:\n" +
+                    "🔴 **Open** — Received, waiting for assignment.\n" +
+                    "🟠 **In Progress** — Authorities are working on it.\n" +
+                    "🟠 **Pending Verification** — Repair done! Please verify physically using geofencing.\n" +
+                    "🟢 **Resolved** — Verified and closed. Thank you!";
+        }
+
+        // ── Geofencing ────────────────────────────────────────────────────────
+        if (m.contains("geofenc") || m.contains("geo fence") ||
+                m.contains("physical verif") || m.contains("verify location") ||
+                m.contains("how to verify") || m.contains("verify repair")) {
+            return "📍 **How Geofencing Verification Works:**\n\n" +
+                    "When authorities complete a repair, your ticket moves to **🟠 Pending Verification**.\n\n" +
+                    "To close it:\n" +
+                    "1. Physically visit the repaired location.\n" +
+                    "2. Open the GeoCivic app at that spot.\n" +
+                    "3. Tap **Verify Repair** — the app checks your GPS against the complaint location.\n" +
+                    "4. Once confirmed, the ticket turns **🟢 Resolved** and you earn Civic Coins!\n\n" +
+                    "This ensures repairs are actually done before tickets close. 🏙️";
+        }
+
+        // ── Civic Coins ───────────────────────────────────────────────────────
+        if (m.contains("civic coin") || m.contains("coins") || m.contains("earn") ||
+                m.contains("reward") || m.contains("points") || m.contains("redeem")) {
+            return "🪙 **Civic Coins — Your Reward for Being a Good Citizen!**\n\n" +
+                    "You earn Civic Coins by:\n" +
+                    "• ✅ **Filing a complaint** — coins on submission\n" +
+                    "• 👍 **Getting upvotes** on your report\n" +
+                    "• 🔍 **Verifying a repair** using geofencing\n\n" +
+                    "**Redeem coins** from the **Rewards** page for:\n" +
+                    "GeoCivic T-shirts, caps, water bottles, badges, and more!\n\n" +
+                    "Check your coin balance in the top bar. 🎁";
+        }
+
+        // ── Status meaning: open ──────────────────────────────────────────────
+        if (m.contains("red status") || m.contains("open status") || m.contains("what is open")) {
+            return "🔴 **Open Status** means your complaint has been successfully received by the system but has not yet been assigned to a staff member or authority.\n\nNo action is needed from you right now — you'll be notified once it's assigned.";
+        }
+
+        // ── Status meaning: in progress ───────────────────────────────────────
+        if (m.contains("orange status") || m.contains("in progress") || m.contains("progress status")) {
+            return "🟠 **In Progress / Pending Verification:**\n\n" +
+                    "• **In Progress** — Authorities are actively working on your complaint.\n" +
+                    "• **Pending Verification** — Work is complete! Please visit the location and verify using geofencing to close the ticket and earn Civic Coins.";
+        }
+
+        // ── Status meaning: resolved ──────────────────────────────────────────
+        if (m.contains("green status") || m.contains("resolved") || m.contains("closed status")) {
+            return "🟢 **Resolved** means your complaint has been fully addressed and you have physically verified the repair using geofencing.\n\nThank you for helping improve your community! 🏙️";
+        }
+
+        // ── Upvote ────────────────────────────────────────────────────────────
+        if (m.contains("upvote") || m.contains("vote") || m.contains("support report")) {
+            return "👍 **Upvoting a Report:**\n\nYou can upvote any public complaint to show it's a shared issue in your community. More upvotes = higher priority for authorities.\n\nYou also earn Civic Coins when your report gets upvoted!";
+        }
+
+        // ── Assigned agent ────────────────────────────────────────────────────
+        if (m.contains("agent") || m.contains("staff") || m.contains("assigned") || m.contains("who is handling")) {
+            return "👷 **Assigned Agent:**\n\nOnce your complaint is reviewed, it gets assigned to a staff member or authority agent.\nYou can see the assigned agent's name in your **Report Details** page.\n\nNot yet assigned? Your report is still **🔴 Open** — it will be picked up soon!";
+        }
+
+        // ── Notifications ─────────────────────────────────────────────────────
+        if (m.contains("notification") || m.contains("alert") || m.contains("update me")) {
+            return "🔔 **Notifications:**\n\nGeoCivic sends you notifications when:\n" +
+                    "• Your complaint is assigned to an agent\n" +
+                    "• The status changes (In Progress, Pending Verification, Resolved)\n" +
+                    "• Your report gets upvoted\n\n" +
+                    "Check the 🔔 bell icon in the top bar for all your notifications.";
+        }
+
+        // ── Help / what can you do ────────────────────────────────────────────
+        if (m.contains("help") || m.contains("what can you") || m.contains("what do you") || m.equals("?")) {
+            return "🤖 **I'm GeoBot! Here's what I can help with:**\n\n" +
+                    "• **Ticket status** — say \"ticket #12\" to check any complaint\n" +
+                    "• **How to file a complaint**\n" +
+                    "• **Understanding statuses** (Open, In Progress, etc.)\n" +
+                    "• **Geofencing verification** process\n" +
+                    "• **Civic Coins & Rewards**\n" +
+                    "• **Upvotes, agents, notifications**\n\n" +
+                    "Just type your question naturally! 💬";
+        }
+
+        // ── Thank you ─────────────────────────────────────────────────────────
+        if (m.matches(".*(thank|thanks|thx|ty|great|awesome|perfect|nice).*")) {
+            return "You're welcome! 😊 Happy to help. If you have any more questions about your complaints or GeoCivic, feel free to ask anytime!";
+        }
+
+        // ── Default fallback ──────────────────────────────────────────────────
+        return "I'm not sure I understood that. Here are some things I can help with:\n\n" +
+                "• Type **\"ticket #ID\"** to check a complaint status\n" +
+                "• Ask about **Civic Coins**, **geofencing**, or **how to file a report**\n" +
+                "• Type **\"help\"** to see everything I can do!\n\n" +
+                "I'm still learning, so try rephrasing if needed. 🤖";
+    }
+}
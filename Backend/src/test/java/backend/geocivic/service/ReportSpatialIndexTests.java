@@ -0,0 +1,59 @@
+package backend.geocivic.service;
+
+import backend.geocivic.dto.NearbyReport;
+import backend.geocivic.dto.ReportSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ReportSpatialIndexTests {
+
+    private final ReportSpatialIndex index = new ReportSpatialIndex(null, 0.005);
+
+    @Test
+    void findsNearestFirstWithinRadius() {
+        index.put(report(1L, 13.0800, 80.2700));
+        index.put(report(2L, 13.0850, 80.2700));
+        index.put(report(3L, 13.2000, 80.2700));
+
+        List<NearbyReport> hits = index.nearest(13.0801, 80.2700, 1000, 10, null);
+        assertThat(hits).extracting(NearbyReport::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void searchesAcrossTheAntimeridian() {
+        fillElsewhere(100);
+        index.put(report(1L, -17.0, 179.999));
+        index.put(report(2L, -17.0, -179.999));
+
+        assertThat(index.nearest(-17.0, 179.9995, 500, 10, null)).hasSize(2);
+        assertThat(index.nearest(-17.0, -180, 500, 10, null)).hasSize(2);
+    }
+
+    @Test
+    void polarQueriesAreBounded() {
+        fillElsewhere(10_000);
+        index.put(report(1L, 89.9, 0));
+        index.put(report(2L, 89.9, 180));
+
+        List<NearbyReport> hits = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> index.nearest(90, 0, ReportSpatialIndex.MAX_RADIUS_METERS, 10, null));
+        assertThat(hits).extracting(NearbyReport::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    /** Enough far-away reports that the grid is searched ring by ring. */
+    private void fillElsewhere(int count) {
+        for (int i = 0; i < count; i++) {
+            index.put(report(1000L + i, 40 + (i % 100) * 0.01, (i / 100) * 0.01));
+        }
+    }
+
+    private static ReportSummary report(Long id, double lat, double lng) {
+        return new ReportSummary(id, "Report " + id, null, "Roads", "Open", null, null, null, null,
+                lat, lng, null, null, 0, false, null, 1L, "Citizen");
+    }
+}
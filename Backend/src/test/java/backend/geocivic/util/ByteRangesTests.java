@@ -0,0 +1,78 @@
+package backend.geocivic.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRangesTests {
+
+    private static final long LENGTH = 1000;
+    private static final String ETAG = "\"18f3a2b4c00-3e8\"";
+    private static final long LAST_MODIFIED = 1_717_171_717_123L;
+
+    @Test
+    void closedRangeIsClampedToTheFile() {
+        assertThat(ByteRanges.parse("bytes=0-99", LENGTH)).containsExactly(0, 99);
+        assertThat(ByteRanges.parse("bytes=900-5000", LENGTH)).containsExactly(900, 999);
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEnd() {
+        assertThat(ByteRanges.parse("bytes=250-", LENGTH)).containsExactly(250, 999);
+    }
+
+    @Test
+    void suffixRangeTakesTheLastBytes() {
+        assertThat(ByteRanges.parse("bytes=-100", LENGTH)).containsExactly(900, 999);
+        assertThat(ByteRanges.parse("bytes=-5000", LENGTH)).containsExactly(0, 999);
+        assertThat(ByteRanges.parse("bytes=-0", LENGTH)).isNull();
+    }
+
+    @Test
+    void rangePastTheEndIsNotSatisfiable() {
+        assertThat(ByteRanges.parse("bytes=1000-", LENGTH)).isNull();
+        assertThat(ByteRanges.parse("bytes=2000-3000", LENGTH)).isNull();
+        assertThat(ByteRanges.parse("bytes=-10", 0)).isNull();
+    }
+
+    @Test
+    void multiRangeAndMalformedRequestsServeTheWholeFile() {
+        assertThat(ByteRanges.parse("bytes=0-9,20-29", LENGTH)).isEmpty();
+        assertThat(ByteRanges.parse("bytes=50-10", LENGTH)).isEmpty();
+        assertThat(ByteRanges.parse("bytes=abc-", LENGTH)).isEmpty();
+        assertThat(ByteRanges.parse("items=0-9", LENGTH)).isEmpty();
+        assertThat(ByteRanges.parse("bytes=10", LENGTH)).isEmpty();
+    }
+
+    @Test
+    void ifRangeWithEtagNeedsAStrongMatch() {
+        assertThat(ByteRanges.ifRangeMatches(null, ETAG, LAST_MODIFIED)).isTrue();
+        assertThat(ByteRanges.ifRangeMatches(ETAG, ETAG, LAST_MODIFIED)).isTrue();
+        assertThat(ByteRanges.ifRangeMatches("\"other\"", ETAG, LAST_MODIFIED)).isFalse();
+        assertThat(ByteRanges.ifRangeMatches("W/" + ETAG, ETAG, LAST_MODIFIED)).isFalse();
+    }
+
+    @Test
+    void ifRangeWithDateNeedsTheExactSecond() {
+        assertThat(ByteRanges.ifRangeMatches(httpDate(LAST_MODIFIED), ETAG, LAST_MODIFIED)).isTrue();
+        assertThat(ByteRanges.ifRangeMatches(httpDate(LAST_MODIFIED - 1000), ETAG, LAST_MODIFIED)).isFalse();
+        assertThat(ByteRanges.ifRangeMatches(httpDate(LAST_MODIFIED + 1000), ETAG, LAST_MODIFIED)).isFalse();
+        assertThat(ByteRanges.ifRangeMatches("yesterday", ETAG, LAST_MODIFIED)).isFalse();
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        assertThat(ByteRanges.etagMatches("W/" + ETAG, ETAG, true)).isTrue();
+        assertThat(ByteRanges.etagMatches("\"a\", " + ETAG, ETAG, true)).isTrue();
+        assertThat(ByteRanges.etagMatches("*", ETAG, true)).isTrue();
+        assertThat(ByteRanges.etagMatches("\"a\"", ETAG, true)).isFalse();
+    }
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,62 @@
+package backend.geocivic.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTests {
+
+    @Test
+    void opensAfterThresholdFailuresInARow() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 60_000);
+        breaker.onFailure(breaker.tryAcquire());
+        breaker.onSuccess(breaker.tryAcquire());
+        breaker.onFailure(breaker.tryAcquire());
+        assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure(breaker.tryAcquire());
+        assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+        assertThat(breaker.snapshot().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void letsExactlyOneProbeThroughWhenHalfOpen() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        breaker.onFailure(breaker.tryAcquire());
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire();
+        assertThat(probe).isNotNull();
+        assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+
+        breaker.onSuccess(probe);
+        assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedProbeOpensAgain() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        breaker.onFailure(breaker.tryAcquire());
+
+        breaker.onFailure(breaker.tryAcquire());
+        assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void ignoresOutcomesOfCallsStartedBeforeTheCircuitOpened() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        CircuitBreaker.Permit slowSuccess = breaker.tryAcquire();
+        CircuitBreaker.Permit slowFailure = breaker.tryAcquire();
+        breaker.onFailure(breaker.tryAcquire());
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire();
+        breaker.onSuccess(slowSuccess);
+        breaker.onFailure(slowFailure);
+        assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+
+        breaker.onSuccess(probe);
+        assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
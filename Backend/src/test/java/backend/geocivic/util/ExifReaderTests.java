@@ -0,0 +1,93 @@
+package backend.geocivic.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Fixtures in src/test/resources/exif: gps.jpg is an 8×8 JPEG with a
+ * big-endian EXIF block (13°04'48"N 80°16'12"E); gps.heic is a minimal HEIF
+ * container whose Exif item is little-endian (51°30'N 0°07'30"W); no-exif.jpg
+ * is the same JPEG without any APP segment; orientation-6.jpg is an 8×4 JPEG
+ * (left half red, right half blue) whose only tag is Orientation = 6.
+ */
+class ExifReaderTests {
+
+    @Test
+    void readsGpsAndCaptureTimeFromJpeg() throws IOException {
+        ExifReader.Metadata metadata = read(fixture("gps.jpg"));
+
+        assertThat(metadata).isNotNull();
+        assertThat(metadata.latitude()).isCloseTo(13.08, within(1e-9));
+        assertThat(metadata.longitude()).isCloseTo(80.27, within(1e-9));
+        assertThat(metadata.takenAt()).isEqualTo(LocalDateTime.of(2024, 5, 17, 9, 30));
+        assertThat(metadata.orientation()).isEqualTo(1);
+    }
+
+    @Test
+    void readsGpsAndCaptureTimeFromHeic() throws IOException {
+        ExifReader.Metadata metadata = read(fixture("gps.heic"));
+
+        assertThat(metadata).isNotNull();
+        assertThat(metadata.latitude()).isCloseTo(51.5, within(1e-9));
+        assertThat(metadata.longitude()).isCloseTo(-0.125, within(1e-9));
+        assertThat(metadata.takenAt()).isEqualTo(LocalDateTime.of(2023, 11, 2, 16, 45, 10));
+    }
+
+    @Test
+    void readsOrientationEvenWithoutGpsOrTime() throws IOException {
+        ExifReader.Metadata metadata = read(fixture("orientation-6.jpg"));
+
+        assertThat(metadata).isNotNull();
+        assertThat(metadata.orientation()).isEqualTo(6);
+        assertThat(metadata.hasLocation()).isFalse();
+        assertThat(metadata.takenAt()).isNull();
+    }
+
+    @Test
+    void jpegWithoutExifYieldsNull() throws IOException {
+        assertThat(read(fixture("no-exif.jpg"))).isNull();
+    }
+
+    @Test
+    void otherFormatsYieldNull() throws IOException {
+        assertThat(read(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0 })).isNull();
+    }
+
+    @Test
+    void fileCutInsideTheExifBlockFailsWithEof() throws IOException {
+        byte[] truncated = Arrays.copyOf(fixture("gps.jpg"), 100);
+        assertThatThrownBy(() -> read(truncated)).isInstanceOf(EOFException.class);
+        byte[] truncatedHeic = Arrays.copyOf(fixture("gps.heic"), 150);
+        assertThatThrownBy(() -> read(truncatedHeic)).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void fileCutAfterTheExifBlockStillYieldsIt() throws IOException {
+        byte[] jpeg = fixture("gps.jpg");
+        // SOI (2) + APP1 marker and length (4) + "Exif\0\0" (6) + 210-byte TIFF block
+        ExifReader.Metadata metadata = read(Arrays.copyOf(jpeg, 2 + 4 + 6 + 210 + 10));
+        assertThat(metadata).isNotNull();
+        assertThat(metadata.hasLocation()).isTrue();
+    }
+
+    private static ExifReader.Metadata read(byte[] data) throws IOException {
+        return ExifReader.read(new ByteArrayInputStream(data));
+    }
+
+    static byte[] fixture(String name) throws IOException {
+        try (InputStream in = ExifReaderTests.class.getResourceAsStream("/exif/" + name)) {
+            assertThat(in).as(name).isNotNull();
+            return in.readAllBytes();
+        }
+    }
+}
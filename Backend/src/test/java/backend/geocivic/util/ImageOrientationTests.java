@@ -0,0 +1,71 @@
+package backend.geocivic.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageOrientationTests {
+
+    private static final int RED = 0xFF0000;
+    private static final int BLUE = 0x0000FF;
+
+    @Test
+    void portraitPhotoIsTurnedUpright() throws IOException {
+        byte[] jpeg = ExifReaderTests.fixture("orientation-6.jpg");
+        int orientation = ExifReader.read(new ByteArrayInputStream(jpeg)).orientation();
+        BufferedImage stored = ImageIO.read(new ByteArrayInputStream(jpeg));
+
+        BufferedImage upright = ImageOrientation.apply(stored, orientation);
+
+        // 90° clockwise: the stored 8×4 becomes 4×8 and its left (red) half ends up on top
+        assertThat(upright.getWidth()).isEqualTo(4);
+        assertThat(upright.getHeight()).isEqualTo(8);
+        assertThat(dominant(upright.getRGB(1, 1))).isEqualTo(RED);
+        assertThat(dominant(upright.getRGB(2, 6))).isEqualTo(BLUE);
+    }
+
+    @Test
+    void everyOrientationMapsTheCornersAsTheSpecSays() {
+        // Stored pixels, 3×2:  a b c
+        //                      d e f
+        int[][] stored = { { 1, 2, 3 }, { 4, 5, 6 } };
+        BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 2; y++)
+            for (int x = 0; x < 3; x++)
+                image.setRGB(x, y, stored[y][x]);
+
+        assertThat(pixels(ImageOrientation.apply(image, 1))).isEqualTo(new int[][] { { 1, 2, 3 }, { 4, 5, 6 } });
+        assertThat(pixels(ImageOrientation.apply(image, 2))).isEqualTo(new int[][] { { 3, 2, 1 }, { 6, 5, 4 } });
+        assertThat(pixels(ImageOrientation.apply(image, 3))).isEqualTo(new int[][] { { 6, 5, 4 }, { 3, 2, 1 } });
+        assertThat(pixels(ImageOrientation.apply(image, 4))).isEqualTo(new int[][] { { 4, 5, 6 }, { 1, 2, 3 } });
+        assertThat(pixels(ImageOrientation.apply(image, 5))).isEqualTo(new int[][] { { 1, 4 }, { 2, 5 }, { 3, 6 } });
+        assertThat(pixels(ImageOrientation.apply(image, 6))).isEqualTo(new int[][] { { 4, 1 }, { 5, 2 }, { 6, 3 } });
+        assertThat(pixels(ImageOrientation.apply(image, 7))).isEqualTo(new int[][] { { 6, 3 }, { 5, 2 }, { 4, 1 } });
+        assertThat(pixels(ImageOrientation.apply(image, 8))).isEqualTo(new int[][] { { 3, 6 }, { 2, 5 }, { 1, 4 } });
+    }
+
+    @Test
+    void unknownValuesLeaveTheImageAlone() {
+        BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB);
+        assertThat(ImageOrientation.apply(image, 0)).isSameAs(image);
+        assertThat(ImageOrientation.apply(image, 9)).isSameAs(image);
+    }
+
+    private static int[][] pixels(BufferedImage image) {
+        int[][] rows = new int[image.getHeight()][image.getWidth()];
+        for (int y = 0; y < rows.length; y++)
+            for (int x = 0; x < rows[y].length; x++)
+                rows[y][x] = image.getRGB(x, y) & 0xFFFFFF;
+        return rows;
+    }
+
+    /** JPEG is lossy: reduce a pixel to whichever of red and blue it mostly is. */
+    private static int dominant(int rgb) {
+        return ((rgb >> 16) & 0xFF) > (rgb & 0xFF) ? RED : BLUE;
+    }
+}
@@ -0,0 +1,63 @@
+package backend.geocivic.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongBloomFilterTests {
+
+    @Test
+    void neverForgetsAnAddedKey() {
+        LongBloomFilter filter = new LongBloomFilter(50_000, 0.01);
+        Random random = new Random(1);
+        long[] keys = new long[50_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            filter.put(keys[i]);
+        }
+        for (long key : keys) {
+            assertThat(filter.mightContain(key)).as("key %d", key).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRate() {
+        int n = 100_000;
+        LongBloomFilter filter = new LongBloomFilter(n, 0.01);
+        // Sequential, densely packed keys like (reportId, userId) pairs
+        Set<Long> added = new HashSet<>();
+        for (long report = 1; added.size() < n; report++) {
+            for (long user = 1; user <= 50 && added.size() < n; user++) {
+                long key = (report << 32) | user;
+                filter.put(key);
+                added.add(key);
+            }
+        }
+        Random random = new Random(2);
+        int probes = 200_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            long key = random.nextLong();
+            if (!added.contains(key) && filter.mightContain(key))
+                falsePositives++;
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+        assertThat(filter.isSaturated()).isFalse();
+    }
+
+    @Test
+    void reportsSaturationPastCapacity() {
+        LongBloomFilter filter = new LongBloomFilter(10, 0.01);
+        for (long key = 0; key < 10; key++) {
+            filter.put(key);
+        }
+        assertThat(filter.isSaturated()).isFalse();
+        filter.put(10);
+        assertThat(filter.isSaturated()).isTrue();
+        assertThat(filter.insertions()).isEqualTo(11);
+    }
+}
@@ -0,0 +1,71 @@
+package backend.geocivic.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatisticTreeTests {
+
+    /** Same ordering as the leaderboard: score high first, then user id. */
+    private record Entry(int score, long userId) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::score).reversed()
+            .thenComparingLong(Entry::userId);
+
+    @Test
+    void matchesTreeSetUnderRandomScoreChanges() {
+        OrderStatisticTree<Entry> tree = new OrderStatisticTree<>(ORDER);
+        TreeSet<Entry> reference = new TreeSet<>(ORDER);
+        int users = 1_000;
+        Entry[] current = new Entry[users];
+        for (int u = 0; u < users; u++) {
+            current[u] = new Entry(0, u);
+            assertThat(tree.add(current[u])).isTrue();
+            reference.add(current[u]);
+        }
+
+        Random random = new Random(42);
+        for (int step = 0; step < 200_000; step++) {
+            int u = random.nextInt(users);
+            Entry changed = new Entry(Math.max(0, current[u].score() + random.nextInt(41) - 20), u);
+            assertThat(tree.remove(current[u])).isTrue();
+            assertThat(tree.add(changed)).isTrue();
+            reference.remove(current[u]);
+            reference.add(changed);
+            current[u] = changed;
+
+            Entry probe = current[random.nextInt(users)];
+            assertThat(tree.countLessThan(probe)).isEqualTo(reference.headSet(probe).size());
+            if (step % 1_000 == 0)
+                assertThat(tree.first(25)).containsExactlyElementsOf(reference.stream().limit(25).toList());
+        }
+        assertThat(tree.size()).isEqualTo(users);
+        assertThat(tree.first(users)).containsExactlyElementsOf(new ArrayList<>(reference));
+    }
+
+    @Test
+    void rejectsDuplicatesAndMissingRemovals() {
+        OrderStatisticTree<Entry> tree = new OrderStatisticTree<>(ORDER);
+        assertThat(tree.add(new Entry(5, 1))).isTrue();
+        assertThat(tree.add(new Entry(5, 1))).isFalse();
+        assertThat(tree.remove(new Entry(4, 1))).isFalse();
+        assertThat(tree.size()).isEqualTo(1);
+    }
+
+    @Test
+    void countsElementsBeforeAValueThatIsNotPresent() {
+        OrderStatisticTree<Entry> tree = new OrderStatisticTree<>(ORDER);
+        List.of(new Entry(30, 1), new Entry(20, 2), new Entry(10, 3)).forEach(tree::add);
+        assertThat(tree.countLessThan(new Entry(25, 9))).isEqualTo(1);
+        assertThat(tree.countLessThan(new Entry(0, 9))).isEqualTo(3);
+        assertThat(tree.first(10)).hasSize(3);
+        assertThat(tree.first(0)).isEmpty();
+    }
+}
@@ -8,7 +8,7 @@ import {
   Sparkles,
   RotateCcw,
 } from "lucide-react";
-import { sendChatMessage } from "../services/chatService";
+import { sendChatMessage, streamChatMessage } from "../services/chatService";
 
 // ── Suggestion chips shown at the start of a conversation ─────────────────
 const SUGGESTIONS = [
@@ -28,8 +28,10 @@ const ChatBot = () => {
   const [input, setInput] = useState("");
   const [loading, setLoading] = useState(false);
   const [hasGreeted, setHasGreeted] = useState(false);
+  const [streaming, setStreaming] = useState(false);
   const bottomRef = useRef(null);
   const inputRef = useRef(null);
+  const streamRef = useRef(null);
 
   // ── Get logged-in citizen from localStorage ─────────────────────────────
   const getUser = () => {
@@ -45,6 +47,9 @@ const ChatBot = () => {
     bottomRef.current?.scrollIntoView({ behavior: "smooth" });
   }, [messages, loading]);
 
+  // ── Stop a reply that is still streaming when the widget goes away ──────
+  useEffect(() => () => streamRef.current?.abort(), []);
+
   // ── Show greeting when chat first opens ─────────────────────────────────
   useEffect(() => {
     if (isOpen && !hasGreeted) {
@@ -81,17 +86,75 @@ const ChatBot = () => {
     setInput("");
     setLoading(true);
 
+    const botId = Date.now() + 1;
+    const controller = new AbortController();
+    streamRef.current = controller;
+    let received = "";
+
     try {
-      const res = await sendChatMessage(msg, user?.id ?? null);
-      const botMsg = {
-        role: "bot",
-        text:
-          res.data.reply || "Sorry, I didn't get a response. Please try again.",
-        time: new Date(),
-        id: Date.now() + 1,
-      };
-      setMessages((prev) => [...prev, botMsg]);
+      // Show the reply as it is generated; the bubble appears with the first token
+      const { complete } = await streamChatMessage(msg, user?.id ?? null, {
+        signal: controller.signal,
+        onToken: (token) => {
+          const first = !received;
+          received += token;
+          const text = received;
+          if (first) {
+            setStreaming(true);
+            setMessages((prev) => [
+              ...prev,
+              { role: "bot", text, time: new Date(), id: botId },
+            ]);
+          } else {
+            setMessages((prev) =>
+              prev.map((m) => (m.id === botId ? { ...m, text } : m)),
+            );
+          }
+        },
+      });
+      if (!received) {
+        setMessages((prev) => [
+          ...prev,
+          {
+            role: "bot",
+            text: "Sorry, I didn't get a response. Please try again.",
+            time: new Date(),
+            id: botId,
+          },
+        ]);
+      } else if (!complete) {
+        setMessages((prev) =>
+          prev.map((m) =>
+            m.id === botId
+              ? {
+                  ...m,
+                  text: `${received}\n\n⚠️ The reply was cut off. Please try again.`,
+                }
+              : m,
+          ),
+        );
+      }
     } catch {
+      if (controller.signal.aborted) return;
+      // Nothing arrived: the stream endpoint is unreachable, so ask the
+      // regular endpoint instead
+      if (!received) {
+        try {
+          const res = await sendChatMessage(msg, user?.id ?? null);
+          const botMsg = {
+            role: "bot",
+            text:
+              res.data.reply ||
+              "Sorry, I didn't get a response. Please try again.",
+            time: new Date(),
+            id: botId,
+          };
+          setMessages((prev) => [...prev, botMsg]);
+          return;
+        } catch {
+          // fall through to the error bubble
+        }
+      }
       setMessages((prev) => [
         ...prev,
         {
@@ -103,7 +166,9 @@ const ChatBot = () => {
         },
       ]);
     } finally {
+      if (streamRef.current === controller) streamRef.current = null;
       setLoading(false);
+      setStreaming(false);
       setTimeout(() => inputRef.current?.focus(), 100);
     }
   };
@@ -116,6 +181,7 @@ const ChatBot = () => {
   };
 
   const handleReset = () => {
+    streamRef.current?.abort();
     setMessages([]);
     setHasGreeted(false);
   };
@@ -242,8 +308,8 @@ const ChatBot = () => {
             </div>
           ))}
 
-          {/* Typing indicator */}
-          {loading && (
+          {/* Typing indicator — until the streamed reply starts */}
+          {loading && !streaming && (
             <div className="flex items-end gap-2">
               <div className="w-7 h-7 rounded-full bg-emerald-100 flex items-center justify-center shrink-0">
                 <Bot size={14} className="text-emerald-600" />
@@ -10,15 +10,11 @@ import {
   CheckSquare,
   Clock,
 } from "lucide-react";
-import {
-  getNotifications,
-  markNotificationRead,
-  getUserDetails,
-} from "../services/userService";
+import { getUserDetails } from "../services/userService";
+import { useNotifications } from "../hooks/useNotifications";
 
 const MainLayout = () => {
   const [isSidebarOpen, setIsSidebarOpen] = useState(true);
-  const [notifications, setNotifications] = useState([]);
   const [showNotifDropdown, setShowNotifDropdown] = useState(false);
   const [civicCoins, setCivicCoins] = useState(0);
   const dropdownRef = useRef(null);
@@ -38,36 +34,35 @@ const MainLayout = () => {
     if (user?.civicCoins != null) setCivicCoins(user.civicCoins);
   }, []);
 
-  useEffect(() => {
-    const fetchData = async () => {
-      if (!user?.id) return;
-      try {
-        const [notifRes, userRes] = await Promise.all([
-          getNotifications(user.id),
-          getUserDetails(user.id),
-        ]);
-        if (Array.isArray(notifRes.data)) setNotifications(notifRes.data);
-        if (userRes.data) {
-          const freshCoins = userRes.data.civicCoins ?? 0;
-          setCivicCoins(freshCoins);
-          // Keep localStorage in sync
-          const stored = localStorage.getItem("user");
-          if (stored) {
-            const parsed = JSON.parse(stored);
-            parsed.civicCoins = freshCoins;
-            localStorage.setItem("user", JSON.stringify(parsed));
-          }
+  // Coins change along with a notification (e.g. a verified report), so the
+  // balance is refreshed when one arrives instead of on a timer
+  const refreshCoins = async () => {
+    if (!user?.id) return;
+    try {
+      const userRes = await getUserDetails(user.id);
+      if (userRes.data) {
+        const freshCoins = userRes.data.civicCoins ?? 0;
+        setCivicCoins(freshCoins);
+        // Keep localStorage in sync
+        const stored = localStorage.getItem("user");
+        if (stored) {
+          const parsed = JSON.parse(stored);
+          parsed.civicCoins = freshCoins;
+          localStorage.setItem("user", JSON.stringify(parsed));
         }
-      } catch (err) {
-        console.error("Failed to fetch data:", err);
       }
-    };
+    } catch (err) {
+      console.error("Failed to fetch data:", err);
+    }
+  };
 
-    fetchData();
+  const { notifications, unreadCount, markRead } = useNotifications(
+    user?.id,
+    refreshCoins,
+  );
 
-    // Refresh every 15 seconds
-    const interval = setInterval(fetchData, 15000);
-    return () => clearInterval(interval);
+  useEffect(() => {
+    refreshCoins();
   }, [user?.id]);
 
   // Listen for coin updates from other pages (e.g. verify in ReportDetails)
@@ -93,19 +88,12 @@ const MainLayout = () => {
 
   const handleMarkAsRead = async (notifId) => {
     try {
-      await markNotificationRead(notifId);
-      setNotifications((prev) =>
-        prev.map((n) => (n.id === notifId ? { ...n, isRead: true } : n)),
-      );
+      await markRead(notifId);
     } catch (err) {
       console.error("Failed to mark as read:", err);
     }
   };
 
-  const unreadCount = Array.isArray(notifications)
-    ? notifications.filter((n) => !n.isRead).length
-    : 0;
-
   return (
     <div className="flex h-screen overflow-hidden bg-[#f8fafc]">
       <div
@@ -10,14 +10,10 @@ import {
   Clock,
   CheckSquare,
 } from "lucide-react";
-import {
-  getNotifications,
-  markNotificationRead,
-} from "../services/userService";
+import { useNotifications } from "../hooks/useNotifications";
 
 const StaffLayout = () => {
   const [isSidebarOpen, setIsSidebarOpen] = useState(true);
-  const [notifications, setNotifications] = useState([]);
   const [showNotifDropdown, setShowNotifDropdown] = useState(false);
   const dropdownRef = useRef(null);
   const location = useLocation();
@@ -32,18 +28,7 @@ const StaffLayout = () => {
   };
   const user = getUser();
 
-  useEffect(() => {
-    if (!user?.id) return;
-    const fetch = async () => {
-      try {
-        const res = await getNotifications(user.id);
-        if (Array.isArray(res.data)) setNotifications(res.data);
-      } catch (e) {}
-    };
-    fetch();
-    const interval = setInterval(fetch, 30000);
-    return () => clearInterval(interval);
-  }, [user?.id]);
+  const { notifications, unreadCount, markRead } = useNotifications(user?.id);
 
   useEffect(() => {
     const handler = (e) => {
@@ -56,14 +41,9 @@ const StaffLayout = () => {
 
   const handleMarkRead = async (notifId) => {
     try {
-      await markNotificationRead(notifId);
-      setNotifications((prev) =>
-        prev.map((n) => (n.id === notifId ? { ...n, isRead: true } : n)),
-      );
+      await markRead(notifId);
     } catch (e) {}
   };
-
-  const unreadCount = notifications.filter((n) => !n.isRead).length;
   const userInitial =
     user?.fullName?.[0]?.toUpperCase() ||
     user?.email?.[0]?.toUpperCase() ||
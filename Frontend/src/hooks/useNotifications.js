@@ -0,0 +1,96 @@
+import { useState, useEffect, useRef, useCallback } from "react";
+import {
+  getNotificationFeed,
+  getUnreadCount,
+  openNotificationStream,
+} from "../services/notificationService";
+import { markNotificationRead } from "../services/userService";
+
+/**
+ * Notifications for the header bell: the latest page is loaded once, new ones
+ * arrive over the notification stream, and the badge shows the server's
+ * unread count — no polling and no full-history downloads.
+ * @param {number|undefined} userId
+ * @param {(notification: object) => void} [onNotification] - called for each pushed notification.
+ */
+export const useNotifications = (userId, onNotification) => {
+  const [notifications, setNotifications] = useState([]);
+  const [unreadCount, setUnreadCount] = useState(0);
+  const onNotificationRef = useRef(onNotification);
+  onNotificationRef.current = onNotification;
+
+  useEffect(() => {
+    if (!userId) return;
+    let cancelled = false;
+    let source = null;
+    let countTimer = null;
+
+    // Bursts of events (a replay after reconnecting) cost one count request
+    const refreshCount = () => {
+      clearTimeout(countTimer);
+      countTimer = setTimeout(async () => {
+        try {
+          const res = await getUnreadCount(userId);
+          if (!cancelled) setUnreadCount(res.data?.unread ?? 0);
+        } catch (err) {
+          console.error("Failed to fetch unread count:", err);
+        }
+      }, 300);
+    };
+
+    const handleNotification = (event) => {
+      let notification;
+      try {
+        notification = JSON.parse(event.data);
+      } catch {
+        return;
+      }
+      setNotifications((prev) =>
+        prev.some((n) => n.id === notification.id)
+          ? prev
+          : [notification, ...prev],
+      );
+      refreshCount();
+      onNotificationRef.current?.(notification);
+    };
+
+    const start = async () => {
+      let newestId = null;
+      try {
+        const res = await getNotificationFeed(userId);
+        const items = Array.isArray(res.data?.items) ? res.data.items : [];
+        if (cancelled) return;
+        setNotifications(items);
+        newestId = items[0]?.id ?? null;
+      } catch (err) {
+        console.error("Failed to fetch notifications:", err);
+      }
+      if (cancelled) return;
+      // Resume after the newest one we have, so nothing falls in between
+      source = openNotificationStream(userId, newestId);
+      source.addEventListener("ready", refreshCount);
+      source.addEventListener("notification", handleNotification);
+    };
+
+    start();
+    return () => {
+      cancelled = true;
+      clearTimeout(countTimer);
+      source?.close();
+    };
+  }, [userId]);
+
+  const markRead = useCallback(
+    async (notifId) => {
+      const target = notifications.find((n) => n.id === notifId);
+      await markNotificationRead(notifId);
+      setNotifications((prev) =>
+        prev.map((n) => (n.id === notifId ? { ...n, isRead: true } : n)),
+      );
+      if (target && !target.isRead) setUnreadCount((c) => Math.max(0, c - 1));
+    },
+    [notifications],
+  );
+
+  return { notifications, unreadCount, markRead };
+};
@@ -10,3 +10,77 @@ const API_URL = "http://localhost:8080/api/chat";
 export const sendChatMessage = (message, userId = null) => {
   return axios.post(API_URL, { message, userId });
 };
+
+/**
+ * Streams GeoBot's reply as it is generated (POST /api/chat/stream, SSE).
+ * Calls onToken with each piece of text in order and resolves with
+ * { complete } once the "done" event arrives — complete is false if the AI
+ * stream broke off part-way. Rejects if the stream can't be opened.
+ * @param {string} message   - The text typed by the citizen.
+ * @param {number|null} userId - The logged-in citizen's ID.
+ * @param {{ onToken: (text: string) => void, signal?: AbortSignal }} options
+ */
+export const streamChatMessage = async (
+  message,
+  userId = null,
+  { onToken, signal } = {},
+) => {
+  const res = await fetch(`${API_URL}/stream`, {
+    method: "POST",
+    headers: {
+      "Content-Type": "application/json",
+      Accept: "text/event-stream",
+    },
+    body: JSON.stringify({ message, userId }),
+    signal,
+  });
+  if (!res.ok || !res.body) {
+    throw new Error(`Chat stream failed with HTTP ${res.status}`);
+  }
+
+  const reader = res.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = "";
+  try {
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) break;
+      buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, "\n");
+
+      // Events are separated by a blank line; keep any partial one for later
+      let end;
+      while ((end = buffer.indexOf("\n\n")) >= 0) {
+        const event = parseEvent(buffer.slice(0, end));
+        buffer = buffer.slice(end + 2);
+        if (event.name === "token") {
+          onToken?.(event.data.text ?? "");
+        } else if (event.name === "done") {
+          return { complete: event.data.complete !== false };
+        }
+      }
+    }
+  } finally {
+    reader.cancel().catch(() => {});
+  }
+  // The connection closed without a "done" event
+  return { complete: false };
+};
+
+// ── Parse one SSE block ("event:" / "data:" lines) ────────────────────────
+const parseEvent = (block) => {
+  let name = "message";
+  const data = [];
+  for (const line of block.split("\n")) {
+    const colon = line.indexOf(":");
+    if (colon <= 0) continue; // blank line or ":" comment
+    const field = line.slice(0, colon);
+    const value = line.slice(colon + 1).replace(/^ /, "");
+    if (field === "event") name = value;
+    else if (field === "data") data.push(value);
+  }
+  try {
+    return { name, data: JSON.parse(data.join("\n") || "{}") };
+  } catch {
+    return { name, data: {} };
+  }
+};
@@ -0,0 +1,24 @@
+import axios from "axios";
+
+const API_URL = "http://localhost:8080/api/notifications";
+
+// First page of a user's notifications, newest first: { items, nextCursor }
+export const getNotificationFeed = (userId, cursor = null, limit = 20) => {
+  return axios.get(`${API_URL}/user/${userId}/feed`, {
+    params: { cursor: cursor ?? undefined, limit },
+  });
+};
+
+// Unread badge count: { unread }
+export const getUnreadCount = (userId) => {
+  return axios.get(`${API_URL}/user/${userId}/unread-count`);
+};
+
+// Live notifications as Server-Sent Events ("ready", then "notification").
+// Anything newer than lastEventId is replayed first; the browser resumes
+// from the last event it saw when it reconnects.
+export const openNotificationStream = (userId, lastEventId = null) => {
+  const params = new URLSearchParams({ userId });
+  if (lastEventId != null) params.set("lastEventId", lastEventId);
+  return new EventSource(`${API_URL}/stream?${params}`);
+};
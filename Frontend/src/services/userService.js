@@ -17,11 +17,6 @@ export const updateUserProfile = (userId, userData) => {
     return axios.put(`${API_URL}/${userId}`, userData);
 };
 
-// Fetch notifications for a user
-export const getNotifications = (userId) => {
-    return axios.get(`${API_URL}/${userId}/notifications`);
-};
-
 // Mark a single notification as read
 export const markNotificationRead = (notifId) => {
     return axios.put(`${API_URL}/notifications/${notifId}/read`);